@@ -2,8 +2,10 @@ package com.doctorappointmentbackend.doctorappointmentbackendlogic;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class DoctorappointmentbackendlogicApplication {
 
     public static void main(String[] args) {
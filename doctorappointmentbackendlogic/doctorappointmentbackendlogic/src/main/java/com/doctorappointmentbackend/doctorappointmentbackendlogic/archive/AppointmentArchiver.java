@@ -0,0 +1,164 @@
+package com.doctorappointmentbackend.doctorappointmentbackendlogic.archive;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.AppointmentKeyDTO;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.etag.ResourceVersions;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.model.AppointmentTombstone;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.repository.AppointmentRepository;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.repository.AppointmentTombstoneRepository;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.repository.ArchivedAppointmentRepository;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.sync.ChangeSequence;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Moves appointments dated before the archive horizon from the hot
+ * appointments table into appointments_archive, which only the history
+ * endpoint reads.
+ *
+ * Each batch is one short transaction: lock the oldest batch-size rows,
+ * copy them across, delete them and leave a tombstone per row so
+ * /appointment/changes drops them from synced lists. Batches are separated
+ * by a pause and a run stops after max-batches, so a large backlog drains
+ * over several runs instead of holding locks and connections for minutes.
+ *
+ * Only past days ever move, so the slot index is unaffected, and the stats
+ * counters already cover both tables. List ETags are bumped per moved row
+ * once its batch commits. Like the other in-memory state, this assumes a
+ * single instance runs the job.
+ */
+@Component
+public class AppointmentArchiver {
+
+    private static final Logger log = LoggerFactory.getLogger(AppointmentArchiver.class);
+
+    private final AppointmentRepository appointmentRepo;
+    private final ArchivedAppointmentRepository archiveRepo;
+    private final AppointmentTombstoneRepository tombstoneRepo;
+    private final ResourceVersions versions;
+    private final ChangeSequence changeSequence;
+    private final TransactionTemplate transactionTemplate;
+
+    private final boolean enabled;
+    private final int horizonDays;
+    private final int batchSize;
+    private final long pauseMillis;
+    private final int maxBatches;
+    private final Counter moved;
+
+    public AppointmentArchiver(AppointmentRepository appointmentRepo,
+                               ArchivedAppointmentRepository archiveRepo,
+                               AppointmentTombstoneRepository tombstoneRepo,
+                               ResourceVersions versions,
+                               ChangeSequence changeSequence,
+                               TransactionTemplate transactionTemplate,
+                               MeterRegistry registry,
+                               @Value("${appointment.archive.enabled:true}") boolean enabled,
+                               @Value("${appointment.archive.horizon-days:90}") int horizonDays,
+                               @Value("${appointment.archive.batch-size:500}") int batchSize,
+                               @Value("${appointment.archive.pause-ms:200}") long pauseMillis,
+                               @Value("${appointment.archive.max-batches:200}") int maxBatches) {
+        this.appointmentRepo = appointmentRepo;
+        this.archiveRepo = archiveRepo;
+        this.tombstoneRepo = tombstoneRepo;
+        this.versions = versions;
+        this.changeSequence = changeSequence;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        // Today's slots are still live in the slot index; never archive them
+        this.horizonDays = Math.max(1, horizonDays);
+        this.batchSize = Math.max(1, batchSize);
+        this.pauseMillis = Math.max(0, pauseMillis);
+        this.maxBatches = Math.max(1, maxBatches);
+        this.moved = Counter.builder("appointment.archive.moved")
+                .description("Appointments moved to the archive table")
+                .register(registry);
+    }
+
+    @Scheduled(initialDelayString = "${appointment.archive.initial-delay:PT5M}",
+            fixedDelayString = "${appointment.archive.interval:PT1H}")
+    public void run() {
+        if (!enabled) {
+            return;
+        }
+        LocalDate before = LocalDate.now().minusDays(horizonDays);
+        try {
+            int total = archiveBefore(before);
+            if (total > 0) {
+                log.info("Archived {} appointments dated before {}", total, before);
+            }
+        } catch (DataAccessException ex) {
+            // Typically a lock conflict with a bulk change; the next run picks up where this one stopped
+            log.warn("Appointment archival stopped early", ex);
+        }
+    }
+
+    // Returns how many rows moved; stops at the first short batch or after max-batches
+    public int archiveBefore(LocalDate before) {
+        int total = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            List<AppointmentKeyDTO> keys = moveBatch(before);
+            for (AppointmentKeyDTO key : keys) {
+                versions.appointmentChanged(key.getDoctorId(), key.getUserId());
+            }
+            moved.increment(keys.size());
+            total += keys.size();
+
+            if (keys.size() < batchSize) {
+                break;
+            }
+            if (!pause()) {
+                break;
+            }
+        }
+        return total;
+    }
+
+    private List<AppointmentKeyDTO> moveBatch(LocalDate before) {
+        long changeSeq = changeSequence.next();
+        try {
+            return transactionTemplate.execute(tx -> {
+                List<AppointmentKeyDTO> keys = appointmentRepo.lockKeysBefore(before, PageRequest.of(0, batchSize));
+                if (keys.isEmpty()) {
+                    return keys;
+                }
+                List<Long> ids = keys.stream().map(AppointmentKeyDTO::getId).toList();
+                archiveRepo.copyFromHot(ids, LocalDateTime.now());
+                appointmentRepo.deleteBulk(ids);
+                tombstoneRepo.saveAll(keys.stream()
+                        .map(key -> new AppointmentTombstone(key.getId(), key.getUserId(), key.getDoctorId(), changeSeq))
+                        .toList());
+                return keys;
+            });
+        } finally {
+            changeSequence.done(changeSeq);
+        }
+    }
+
+    private boolean pause() {
+        if (pauseMillis == 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pauseMillis);
+            return true;
+        } catch (InterruptedException ex) {
+            // Shutting down
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
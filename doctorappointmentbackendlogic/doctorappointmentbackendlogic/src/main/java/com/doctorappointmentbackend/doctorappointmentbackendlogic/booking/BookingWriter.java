@@ -0,0 +1,333 @@
+package com.doctorappointmentbackend.doctorappointmentbackendlogic.booking;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.AppointmentEventDTO;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.AppointmentKeyDTO;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.BookingTicketDTO;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.SequencedAppointmentViewDTO;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.etag.ResourceVersions;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.events.AppointmentEventBus;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.exception.ServiceBusyException;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.index.SlotOccupancyIndex;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.model.AppointmentStatus;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.repository.AppointmentRepository;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.repository.DoctorRepository;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.repository.UserRepository;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.stats.AppointmentStatsCounters;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.sync.ChangeSequence;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Write-behind queue behind POST /appointment/book/async.
+ *
+ * The caller has already claimed the slot in SlotOccupancyIndex; submit()
+ * only appends to a bounded lock-free queue and hands back a ticket. One
+ * writer thread drains whatever has accumulated (up to batch-size) and
+ * writes it with a single multi-row INSERT in one transaction, so a burst
+ * costs one connection and one commit per batch rather than per booking.
+ * While a batch commits the next one fills up, so batches grow with load.
+ *
+ * If the batch statement fails on a constraint (a deleted user or doctor),
+ * its rows are retried one by one so only the offending booking fails.
+ * Outcomes land on the ticket, which callers poll, and as BOOKED /
+ * BOOKING_FAILED events on the appointment streams.
+ *
+ * Queued bookings live only in memory until their batch commits: they are
+ * drained on shutdown, but a crash loses them (and their tickets).
+ *
+ * The writer thread is a lifecycle bean: it starts before the web server
+ * takes requests and stops (after draining) once the server has stopped.
+ * While idle it stays parked until submit() unparks it.
+ */
+@Component
+public class BookingWriter implements SmartLifecycle {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingWriter.class);
+
+    private static final ServiceBusyException QUEUE_FULL =
+            new ServiceBusyException("Too many bookings in flight, please retry shortly");
+    private static final ServiceBusyException STOPPING =
+            new ServiceBusyException("Bookings are paused while the service restarts, please retry shortly");
+
+    // Lower phases start earlier and stop later; Boot's web server runs at DEFAULT_PHASE - 2048
+    private static final int PHASE = SmartLifecycle.DEFAULT_PHASE - 4096;
+
+    private final AppointmentRepository appointmentRepo;
+    private final UserRepository userRepo;
+    private final DoctorRepository doctorRepo;
+    private final AppointmentStatsCounters statsCounters;
+    private final SlotOccupancyIndex slotIndex;
+    private final ResourceVersions versions;
+    private final AppointmentEventBus eventBus;
+    private final ChangeSequence changeSequence;
+    private final TransactionTemplate transactionTemplate;
+
+    private final int capacity;
+    private final int batchSize;
+    private final ConcurrentLinkedQueue<Pending> queue = new ConcurrentLinkedQueue<>();
+    // ConcurrentLinkedQueue.size() is O(n), so the bound is tracked separately
+    private final AtomicInteger depth = new AtomicInteger();
+    private final Cache<String, BookingTicketDTO> tickets;
+
+    private volatile Thread writer;
+    private volatile boolean running;
+
+    private final Counter rejected;
+    private final DistributionSummary batches;
+
+    public BookingWriter(AppointmentRepository appointmentRepo,
+                         UserRepository userRepo,
+                         DoctorRepository doctorRepo,
+                         AppointmentStatsCounters statsCounters,
+                         SlotOccupancyIndex slotIndex,
+                         ResourceVersions versions,
+                         AppointmentEventBus eventBus,
+                         ChangeSequence changeSequence,
+                         TransactionTemplate transactionTemplate,
+                         MeterRegistry registry,
+                         @Value("${appointment.booking.queue-capacity:10000}") int capacity,
+                         @Value("${appointment.booking.batch-size:200}") int batchSize,
+                         @Value("${appointment.booking.ticket-ttl-minutes:10}") long ticketTtlMinutes) {
+        this.appointmentRepo = appointmentRepo;
+        this.userRepo = userRepo;
+        this.doctorRepo = doctorRepo;
+        this.statsCounters = statsCounters;
+        this.slotIndex = slotIndex;
+        this.versions = versions;
+        this.eventBus = eventBus;
+        this.changeSequence = changeSequence;
+        this.transactionTemplate = transactionTemplate;
+        this.capacity = Math.max(1, capacity);
+        this.batchSize = Math.max(1, batchSize);
+        this.tickets = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMinutes(ticketTtlMinutes))
+                .build();
+
+        Gauge.builder("appointment.booking.queue.depth", depth, AtomicInteger::get).register(registry);
+        this.rejected = Counter.builder("appointment.booking.rejected")
+                .description("Bookings refused because the write-behind queue was full")
+                .register(registry);
+        this.batches = DistributionSummary.builder("appointment.booking.batch.size")
+                .description("Bookings written per group commit")
+                .register(registry);
+    }
+
+    // ================= LIFECYCLE =================
+
+    @Override
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        writer = new Thread(this::drainLoop, "booking-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    // Refuses new bookings (submit() checks under this monitor), then waits for
+    // everything already accepted to be written. The wait is outside the monitor,
+    // so late submits are turned away at once rather than queued behind it
+    @Override
+    public void stop() {
+        Thread draining;
+        synchronized (this) {
+            if (!running) {
+                return;
+            }
+            running = false;
+            draining = writer;
+        }
+        LockSupport.unpark(draining);
+        try {
+            draining.join(TimeUnit.SECONDS.toMillis(30));
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    // ================= SUBMIT =================
+
+    // The slot must already be reserved; on QUEUE_FULL or STOPPING the caller releases it
+    public BookingTicketDTO submit(Long userId, Long doctorId, LocalDate date, LocalTime time) {
+        if (depth.incrementAndGet() > capacity) {
+            depth.decrementAndGet();
+            rejected.increment();
+            throw QUEUE_FULL;
+        }
+        BookingTicketDTO ticket = BookingTicketDTO.queued(UUID.randomUUID().toString());
+        // Held only for the check and the append, so nothing is queued once stop() has begun
+        synchronized (this) {
+            if (!running) {
+                depth.decrementAndGet();
+                rejected.increment();
+                throw STOPPING;
+            }
+            tickets.put(ticket.getTicket(), ticket);
+            queue.offer(new Pending(ticket.getTicket(), userId, doctorId, date, time));
+        }
+        LockSupport.unpark(writer);
+        return ticket;
+    }
+
+    // Null once the ticket is unknown or has expired
+    public BookingTicketDTO ticket(String ticket) {
+        return tickets.getIfPresent(ticket);
+    }
+
+    // ================= WRITER =================
+
+    private void drainLoop() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (true) {
+            Pending next;
+            while (batch.size() < batchSize && (next = queue.poll()) != null) {
+                batch.add(next);
+            }
+            if (batch.isEmpty()) {
+                // Only stops once everything accepted before shutdown is written. A submit that
+                // got in just before stop() may have appended after the poll above: look again
+                if (!running) {
+                    if (queue.isEmpty()) {
+                        return;
+                    }
+                    continue;
+                }
+                // An unpark that lands between the poll and here leaves a permit, so this returns at once
+                LockSupport.park(this);
+                continue;
+            }
+            depth.addAndGet(-batch.size());
+            batches.record(batch.size());
+            try {
+                write(batch);
+            } catch (RuntimeException ex) {
+                // Keep the writer alive whatever happens to one batch
+                log.error("Booking batch failed", ex);
+            }
+            batch.clear();
+        }
+    }
+
+    private void write(List<Pending> batch) {
+        try {
+            complete(batch, insert(batch));
+        } catch (DataIntegrityViolationException ex) {
+            // One bad row fails the whole statement; find it by writing them one at a time
+            for (Pending pending : batch) {
+                writeOne(pending);
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Could not write {} queued bookings", batch.size(), ex);
+            for (Pending pending : batch) {
+                fail(pending, "Booking could not be saved, please retry", true);
+            }
+        }
+    }
+
+    private void writeOne(Pending pending) {
+        try {
+            complete(List.of(pending), insert(List.of(pending)));
+        } catch (DataIntegrityViolationException ex) {
+            if (!userRepo.existsById(pending.userId())) {
+                fail(pending, "User not found with id: " + pending.userId(), true);
+            } else if (!doctorRepo.existsById(pending.doctorId())) {
+                fail(pending, "Doctor not found with id: " + pending.doctorId(), true);
+            } else {
+                // The unique slot constraint fired: the slot really is held, keep the bit set
+                fail(pending, "This time slot is already booked", false);
+            }
+        } catch (RuntimeException ex) {
+            log.warn("Could not write queued booking {}", pending.ticket(), ex);
+            fail(pending, "Booking could not be saved, please retry", true);
+        }
+    }
+
+    // One change sequence per batch; it also finds the inserted rows (and their ids) again
+    private List<SequencedAppointmentViewDTO> insert(List<Pending> batch) {
+        List<AppointmentKeyDTO> rows = batch.stream()
+                .map(pending -> new AppointmentKeyDTO(null, pending.doctorId(), pending.userId(),
+                        pending.date(), pending.time(), AppointmentStatus.PENDING))
+                .toList();
+        long changeSeq = changeSequence.next();
+        try {
+            return transactionTemplate.execute(tx -> {
+                appointmentRepo.insertAll(rows, changeSeq);
+                return appointmentRepo.findViewsByChangeSeq(changeSeq);
+            });
+        } finally {
+            changeSequence.done(changeSeq);
+        }
+    }
+
+    // In-memory state follows only once the batch has committed
+    private void complete(List<Pending> batch, List<SequencedAppointmentViewDTO> views) {
+        // Every row holds its slot, so (doctor, date, time) identifies it within the batch
+        Map<String, SequencedAppointmentViewDTO> bySlot = new HashMap<>();
+        for (SequencedAppointmentViewDTO view : views) {
+            bySlot.put(slotKey(view.getDoctorId(), view.getAppointmentDate(), view.getAppointmentTime()), view);
+        }
+        for (Pending pending : batch) {
+            SequencedAppointmentViewDTO view = bySlot.get(slotKey(pending.doctorId(), pending.date(), pending.time()));
+            if (view == null) {
+                fail(pending, "Booking could not be saved, please retry", true);
+                continue;
+            }
+            statsCounters.onBooked(view.getDoctorId(), view.getUserId(), view.getStatus());
+            versions.appointmentChanged(view.getDoctorId(), view.getUserId());
+            tickets.put(pending.ticket(), BookingTicketDTO.booked(pending.ticket(), view));
+            eventBus.publish(AppointmentEventDTO.booked(view, pending.ticket()));
+        }
+    }
+
+    private void fail(Pending pending, String error, boolean releaseSlot) {
+        if (releaseSlot) {
+            slotIndex.release(pending.doctorId(), pending.date(), pending.time());
+        }
+        tickets.put(pending.ticket(), BookingTicketDTO.failed(pending.ticket(), error));
+        eventBus.publish(AppointmentEventDTO.bookingFailed(pending.ticket(), pending.doctorId(), pending.userId()));
+    }
+
+    private static String slotKey(Long doctorId, LocalDate date, LocalTime time) {
+        return doctorId + "|" + date + "|" + time;
+    }
+
+    private record Pending(String ticket, Long userId, Long doctorId, LocalDate date, LocalTime time) {
+    }
+}
@@ -0,0 +1,45 @@
+package com.doctorappointmentbackend.doctorappointmentbackendlogic.bulkhead;
+
+import java.sql.SQLException;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.BeanCreationException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.datasource.ReplicaRoutingDataSource;
+
+/**
+ * Puts the single-pool "dataSource" behind {@link DbBulkheads}. With a
+ * replica, ReplicaDataSourceConfig guards each pool itself and the routed
+ * DataSource is left alone.
+ *
+ * The bulkheads are resolved lazily so this post-processor does not pull
+ * them (and the meter registry) into the context before they are needed.
+ */
+@Component
+public class DataSourceBulkheadPostProcessor implements BeanPostProcessor {
+
+    private final ObjectProvider<DbBulkheads> bulkheads;
+
+    public DataSourceBulkheadPostProcessor(ObjectProvider<DbBulkheads> bulkheads) {
+        this.bulkheads = bulkheads;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)) {
+            return bean;
+        }
+        try {
+            if (dataSource.isWrapperFor(ReplicaRoutingDataSource.class)) {
+                return bean;
+            }
+        } catch (SQLException ex) {
+            throw new BeanCreationException(beanName, "Could not inspect the DataSource", ex);
+        }
+        return bulkheads.getObject().guard("primary", dataSource);
+    }
+}
@@ -0,0 +1,99 @@
+package com.doctorappointmentbackend.doctorappointmentbackendlogic.bulkhead;
+
+import java.sql.SQLException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.BulkheadStatsDTO;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.exception.ServiceBusyException;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Fair semaphore in front of one connection pool, sized to that pool.
+ *
+ * With virtual threads there is no Tomcat thread cap, so thousands of
+ * requests can ask for a connection at once. They queue here (parking a
+ * virtual thread is cheap) instead of inside Hikari's getConnection, and a
+ * caller that waits longer than max-wait-ms gets a 503.
+ *
+ * A permit is held exactly as long as a physical connection (see
+ * BulkheadDataSource), so a transaction holds one permit for its whole
+ * duration and nothing can reach the pool around the bulkhead.
+ *
+ * Waits are published as the db.bulkhead.wait timer, next to gauges for
+ * queued callers and free permits, all tagged with the pool.
+ */
+public class DbBulkhead {
+
+    private final String pool;
+    private final boolean enabled;
+    private final int permits;
+    private final long maxWaitNanos;
+    private final Semaphore semaphore;
+
+    private final LongAdder acquired = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder totalWaitNanos = new LongAdder();
+    private final LongAccumulator maxObservedWaitNanos = new LongAccumulator(Math::max, 0);
+    private final Timer waitTimer;
+
+    DbBulkhead(String pool, boolean enabled, int permits, long maxWaitNanos, MeterRegistry registry) {
+        this.pool = pool;
+        this.enabled = enabled;
+        this.permits = permits;
+        this.maxWaitNanos = maxWaitNanos;
+        this.semaphore = new Semaphore(permits, true);
+
+        this.waitTimer = Timer.builder("db.bulkhead.wait")
+                .description("Time spent waiting for a DB bulkhead permit")
+                .tag("pool", pool)
+                .publishPercentileHistogram()
+                .register(registry);
+        Gauge.builder("db.bulkhead.queued", semaphore, Semaphore::getQueueLength).tag("pool", pool).register(registry);
+        Gauge.builder("db.bulkhead.available", semaphore, Semaphore::availablePermits).tag("pool", pool).register(registry);
+        Gauge.builder("db.bulkhead.rejected", rejected, LongAdder::sum).tag("pool", pool).register(registry);
+    }
+
+    void acquire() throws SQLException {
+        long start = System.nanoTime();
+        try {
+            if (!semaphore.tryAcquire(maxWaitNanos, TimeUnit.NANOSECONDS)) {
+                rejected.increment();
+                throw new ServiceBusyException("Database is busy, please retry shortly");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a " + pool + " connection", ex);
+        }
+        long waited = System.nanoTime() - start;
+        acquired.increment();
+        totalWaitNanos.add(waited);
+        maxObservedWaitNanos.accumulate(waited);
+        waitTimer.record(waited, TimeUnit.NANOSECONDS);
+    }
+
+    void release() {
+        semaphore.release();
+    }
+
+    public BulkheadStatsDTO stats() {
+        long count = acquired.sum();
+        double totalMillis = totalWaitNanos.sum() / 1_000_000.0;
+        return new BulkheadStatsDTO(
+                pool,
+                enabled,
+                permits,
+                semaphore.availablePermits(),
+                semaphore.getQueueLength(),
+                count,
+                rejected.sum(),
+                count == 0 ? 0 : totalMillis / count,
+                maxObservedWaitNanos.get() / 1_000_000.0
+        );
+    }
+}
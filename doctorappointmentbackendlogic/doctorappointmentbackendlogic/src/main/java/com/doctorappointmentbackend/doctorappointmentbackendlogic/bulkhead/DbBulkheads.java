@@ -0,0 +1,68 @@
+package com.doctorappointmentbackend.doctorappointmentbackendlogic.bulkhead;
+
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.BulkheadStatsDTO;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * One {@link DbBulkhead} per connection pool (the primary, plus the replica
+ * when one is configured), each sized to its own pool unless
+ * db.bulkhead.permits is set.
+ */
+@Component
+public class DbBulkheads {
+
+    private final boolean enabled;
+    private final int permits;
+    private final long maxWaitNanos;
+    private final MeterRegistry registry;
+    private final Map<String, DbBulkhead> byPool = new ConcurrentSkipListMap<>();
+
+    public DbBulkheads(MeterRegistry registry,
+                       @Value("${db.bulkhead.enabled:false}") boolean enabled,
+                       @Value("${db.bulkhead.permits:0}") int permits,
+                       @Value("${db.bulkhead.max-wait-ms:30000}") long maxWaitMillis) {
+        this.registry = registry;
+        this.enabled = enabled;
+        this.permits = permits;
+        this.maxWaitNanos = TimeUnit.MILLISECONDS.toNanos(maxWaitMillis);
+    }
+
+    // Returns the pool itself while the bulkhead is disabled; its sizing is still reported
+    public DataSource guard(String pool, DataSource dataSource) {
+        DbBulkhead bulkhead = byPool.computeIfAbsent(pool, name ->
+                new DbBulkhead(name, enabled, permits > 0 ? permits : poolSize(dataSource), maxWaitNanos, registry));
+        return enabled ? new BulkheadDataSource(dataSource, bulkhead) : dataSource;
+    }
+
+    public List<BulkheadStatsDTO> stats() {
+        return byPool.values().stream().map(DbBulkhead::stats).toList();
+    }
+
+    private static int poolSize(DataSource dataSource) {
+        try {
+            // Unset (-1) until the pool starts, which it has not when this runs
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                int size = dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+                if (size > 0) {
+                    return size;
+                }
+            }
+        } catch (SQLException ignored) {
+            // fall through to Hikari's default
+        }
+        return 10;
+    }
+}
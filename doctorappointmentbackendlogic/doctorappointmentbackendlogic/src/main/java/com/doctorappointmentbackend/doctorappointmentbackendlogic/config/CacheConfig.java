@@ -0,0 +1,31 @@
+package com.doctorappointmentbackend.doctorappointmentbackendlogic.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Cache sizes / TTL come from spring.cache.caffeine.spec in application.properties.
+ *
+ * Doctor entries are keyed by the version (the ETag counter) current when the
+ * load started: the list by the doctors version, a single doctor by its own.
+ * A read that loaded the old data before a write committed can still put it
+ * once the write's eviction has run, but only under the old version, which no
+ * request looks up once the write has bumped it; so a fresh ETag never pairs
+ * with stale cached data.
+ *
+ * Writes evict only the entries they change: the current list, and for an
+ * update or delete that doctor's entry. Other doctors keep theirs.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String DOCTOR_LIST = "doctorList";
+    public static final String DOCTOR_BY_ID = "doctorById";
+
+    // SpEL for cache keys: the doctors version, read before the cached method runs
+    public static final String DOCTORS_VERSION = "@resourceVersions.doctorsTag()";
+
+    // SpEL for a doctor's cache key: its id and its own version (methods taking an id parameter)
+    public static final String DOCTOR_KEY = "#id + '@' + @resourceVersions.doctorTag(#id)";
+}
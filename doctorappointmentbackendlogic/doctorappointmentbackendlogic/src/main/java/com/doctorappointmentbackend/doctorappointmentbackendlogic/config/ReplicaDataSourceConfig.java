@@ -0,0 +1,76 @@
+package com.doctorappointmentbackend.doctorappointmentbackendlogic.config;
+
+import java.time.Duration;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.bulkhead.DbBulkheads;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.datasource.ReadRouting;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Primary + read replica pools behind one routing DataSource. Only active
+ * when db.replica.jdbc-url is set; otherwise Boot's single pool is used as before.
+ *
+ * The primary pool keeps its spring.datasource.* / spring.datasource.hikari.*
+ * settings; the replica pool is configured under db.replica.* (Hikari names).
+ * Each pool gets its own DB bulkhead, sized to that pool.
+ */
+@Configuration
+@ConditionalOnExpression("!'${db.replica.jdbc-url:}'.isBlank()")
+public class ReplicaDataSourceConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        if (dataSource.getPoolName() == null) {
+            dataSource.setPoolName("primary");
+        }
+        return dataSource;
+    }
+
+    @Bean
+    @ConfigurationProperties("db.replica")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("replica");
+        // A down replica must fail fast (reads fall back) and must not block startup
+        dataSource.setConnectionTimeout(Duration.ofSeconds(2).toMillis());
+        dataSource.setInitializationFailTimeout(-1);
+        return dataSource;
+    }
+
+    // The proxy defers getConnection() until the transaction is known to be read-only
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") HikariDataSource primary,
+                                 @Qualifier("replicaDataSource") HikariDataSource replica,
+                                 ReadRouting readRouting,
+                                 DbBulkheads bulkheads,
+                                 MeterRegistry registry,
+                                 @Value("${db.routing.retry-after:PT30S}") Duration retryAfter,
+                                 @Value("${db.routing.migrate-replica:false}") boolean migrateReplica) {
+        if (migrateReplica) {
+            // Local testing only: a real replica gets its schema through replication
+            Flyway.configure().dataSource(replica).baselineOnMigrate(true).baselineVersion("1").load().migrate();
+        }
+        return new LazyConnectionDataSourceProxy(
+                new ReplicaRoutingDataSource(bulkheads.guard("primary", primary), bulkheads.guard("replica", replica),
+                        readRouting, retryAfter, registry));
+    }
+}
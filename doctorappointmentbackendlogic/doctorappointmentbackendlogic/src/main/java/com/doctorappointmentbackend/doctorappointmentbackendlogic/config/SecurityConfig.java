@@ -1,17 +1,30 @@
 package com.doctorappointmentbackend.doctorappointmentbackendlogic.config;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.ratelimit.AdmissionControlFilter;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.ratelimit.RateLimitProperties;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.security.JwtAuthenticationFilter;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.security.PasswordCostCalibrator;
+
 @Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
 public class SecurityConfig {
 
     @Bean
-    public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain filterChain(HttpSecurity http,
+                                           JwtAuthenticationFilter jwtFilter,
+                                           AdmissionControlFilter admissionFilter) throws Exception {
 
         http
             .csrf(csrf -> csrf.disable())
@@ -23,13 +36,37 @@ public class SecurityConfig {
                 .anyRequest().permitAll()
             )
             .formLogin(form -> form.disable())   // ❌ disable default login
-            .httpBasic(basic -> basic.disable());
+            .httpBasic(basic -> basic.disable())
+            .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
+            .addFilterBefore(jwtFilter, UsernamePasswordAuthenticationFilter.class)
+            // After the JWT filter, so authenticated clients are limited by user id rather than IP
+            .addFilterAfter(admissionFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
 
+    // The JWT filter is a bean for injection only; it must run inside the security chain, not twice
+    @Bean
+    public FilterRegistrationBean<JwtAuthenticationFilter> jwtFilterRegistration(JwtAuthenticationFilter filter) {
+        FilterRegistrationBean<JwtAuthenticationFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionFilterRegistration(AdmissionControlFilter filter) {
+        FilterRegistrationBean<AdmissionControlFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    // bcrypt cost is tuned at startup to fit the per-login latency budget
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${security.password.target-millis:100}") long targetMillis,
+            @Value("${security.password.min-cost:10}") int minCost,
+            @Value("${security.password.max-cost:14}") int maxCost) {
+        int cost = PasswordCostCalibrator.calibrate(targetMillis, minCost, maxCost);
+        return new BCryptPasswordEncoder(cost);
     }
 }
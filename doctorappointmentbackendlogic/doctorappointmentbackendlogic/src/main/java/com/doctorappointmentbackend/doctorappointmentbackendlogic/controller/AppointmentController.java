@@ -2,13 +2,33 @@ package com.doctorappointmentbackend.doctorappointmentbackendlogic.controller;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
 import java.util.List;
 
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.AppointmentChangesDTO;
 import com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.AppointmentRequestDTO;
-import com.doctorappointmentbackend.doctorappointmentbackendlogic.model.Appointment;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.AppointmentStatsDTO;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.AppointmentViewDTO;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.BookingTicketDTO;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.BulkAppointmentRequestDTO;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.BulkOutcomeDTO;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.CursorPageDTO;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.etag.ConditionalGet;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.events.AppointmentEventBus;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.exception.BadRequestException;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.etag.ResourceVersions;
 import com.doctorappointmentbackend.doctorappointmentbackendlogic.service.AppointmentService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 
 @RestController
 @RequestMapping("/appointment")
@@ -16,46 +36,185 @@ import com.doctorappointmentbackend.doctorappointmentbackendlogic.service.Appoin
 public class AppointmentController {
 
     private final AppointmentService service;
+    private final ResourceVersions versions;
+    private final AppointmentEventBus eventBus;
+    private final ObjectWriter rowWriter;
 
-    public AppointmentController(AppointmentService service) {
+    public AppointmentController(AppointmentService service, ResourceVersions versions,
+                                 AppointmentEventBus eventBus, ObjectMapper objectMapper) {
         this.service = service;
+        this.versions = versions;
+        this.eventBus = eventBus;
+        this.rowWriter = objectMapper.writer();
     }
 
+    // Missing fields reach the service as null and are refused there with a 400
     @PostMapping("/book")
-    public Appointment book(@RequestBody AppointmentRequestDTO dto) {
+    public AppointmentViewDTO book(@RequestBody AppointmentRequestDTO dto) {
         return service.bookAppointment(
                 dto.getUserId(),
                 dto.getDoctorId(),
-                LocalDate.parse(dto.getDate()),
-                LocalTime.parse(dto.getTime())
+                dto.getDate() != null ? LocalDate.parse(dto.getDate()) : null,
+                dto.getTime() != null ? LocalTime.parse(dto.getTime()) : null
         );
     }
 
+    // Write-behind booking: 202 with a ticket to poll (or watch for on /stream)
+    @PostMapping("/book/async")
+    public ResponseEntity<BookingTicketDTO> bookAsync(@RequestBody AppointmentRequestDTO dto) {
+        BookingTicketDTO ticket = service.enqueueBooking(
+                dto.getUserId(),
+                dto.getDoctorId(),
+                dto.getDate() != null ? LocalDate.parse(dto.getDate()) : null,
+                dto.getTime() != null ? LocalTime.parse(dto.getTime()) : null
+        );
+        return ResponseEntity.accepted()
+                .location(URI.create("/appointment/book/tickets/" + ticket.getTicket()))
+                .body(ticket);
+    }
+
+    @GetMapping("/book/tickets/{ticket}")
+    public BookingTicketDTO bookingTicket(@PathVariable String ticket) {
+        return service.getBookingTicket(ticket);
+    }
+
+    // List reads are conditional on per-user / per-doctor / global versions (304 on a matching ETag)
     @GetMapping("/user/{userId}")
-    public List<Appointment> byUser(@PathVariable Long userId) {
-        return service.getAppointmentsByUser(userId);
+    public ResponseEntity<List<AppointmentViewDTO>> byUser(@PathVariable Long userId, ServletWebRequest request) {
+        return ConditionalGet.respond(request, versions.userAppointmentsTag(userId), ConditionalGet.PERSONAL,
+                () -> service.getAppointmentsByUser(userId));
     }
     
     @GetMapping("/doctor/{doctorId}")
-    public List<Appointment> byDoctor(@PathVariable Long doctorId) {
-        return service.getAppointmentsByDoctor(doctorId);
+    public ResponseEntity<List<AppointmentViewDTO>> byDoctor(@PathVariable Long doctorId, ServletWebRequest request) {
+        return ConditionalGet.respond(request, versions.doctorAppointmentsTag(doctorId), ConditionalGet.PERSONAL,
+                () -> service.getAppointmentsByDoctor(doctorId));
     }
 
     @GetMapping
-    public List<Appointment> all() {
-        return service.getAllAppointments();
+    public ResponseEntity<List<AppointmentViewDTO>> all(ServletWebRequest request) {
+        return ConditionalGet.respond(request, versions.allAppointmentsTag(), ConditionalGet.PERSONAL,
+                service::getAllAppointments);
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<CursorPageDTO<AppointmentViewDTO>> page(@RequestParam(required = false) String cursor,
+                                                                  @RequestParam(required = false) Integer limit,
+                                                                  ServletWebRequest request) {
+        return ConditionalGet.respond(request, versions.allAppointmentsTag(), ConditionalGet.PERSONAL,
+                () -> service.getAppointmentsPage(cursor, limit));
+    }
+
+    @GetMapping("/user/{userId}/page")
+    public ResponseEntity<CursorPageDTO<AppointmentViewDTO>> byUserPage(@PathVariable Long userId,
+                                                                        @RequestParam(required = false) String cursor,
+                                                                        @RequestParam(required = false) Integer limit,
+                                                                        ServletWebRequest request) {
+        return ConditionalGet.respond(request, versions.userAppointmentsTag(userId), ConditionalGet.PERSONAL,
+                () -> service.getAppointmentsByUserPage(userId, cursor, limit));
+    }
+
+    @GetMapping("/doctor/{doctorId}/page")
+    public ResponseEntity<CursorPageDTO<AppointmentViewDTO>> byDoctorPage(@PathVariable Long doctorId,
+                                                                          @RequestParam(required = false) String cursor,
+                                                                          @RequestParam(required = false) Integer limit,
+                                                                          ServletWebRequest request) {
+        return ConditionalGet.respond(request, versions.doctorAppointmentsTag(doctorId), ConditionalGet.PERSONAL,
+                () -> service.getAppointmentsByDoctorPage(doctorId, cursor, limit));
+    }
+
+    // NDJSON export: one appointment per line, written as rows come off the cursor
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> export(@RequestParam(required = false) Long userId,
+                                                        @RequestParam(required = false) Long doctorId) {
+        StreamingResponseBody body = out -> service.streamAppointments(userId, doctorId, appointment -> {
+            try {
+                out.write(rowWriter.writeValueAsBytes(appointment));
+                out.write('\n');
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    // SSE push of BOOKED / STATUS_CHANGED / DELETED events for one user or one doctor
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestParam(required = false) Long userId,
+                             @RequestParam(required = false) Long doctorId) {
+        if ((userId == null) == (doctorId == null)) {
+            throw new BadRequestException("Exactly one of userId or doctorId is required");
+        }
+        return userId != null ? eventBus.subscribeUser(userId) : eventBus.subscribeDoctor(doctorId);
+    }
+
+    // Delta sync: only what changed since the cursor; omit since for a full initial sync
+    @GetMapping("/changes")
+    public AppointmentChangesDTO changes(@RequestParam(required = false) String since,
+                                         @RequestParam(required = false) Long userId,
+                                         @RequestParam(required = false) Long doctorId,
+                                         @RequestParam(required = false) Integer limit) {
+        return service.getChanges(since, userId, doctorId, limit);
+    }
+
+    // Archived appointments (older than appointment.archive.horizon-days), newest first
+    @GetMapping("/history")
+    public ResponseEntity<CursorPageDTO<AppointmentViewDTO>> history(@RequestParam(required = false) Long userId,
+                                                                     @RequestParam(required = false) Long doctorId,
+                                                                     @RequestParam(required = false) String cursor,
+                                                                     @RequestParam(required = false) Integer limit,
+                                                                     ServletWebRequest request) {
+        // The archiver bumps the same versions as any other write, so the list tags cover history too
+        String etag = userId != null ? versions.userAppointmentsTag(userId)
+                : doctorId != null ? versions.doctorAppointmentsTag(doctorId)
+                : versions.allAppointmentsTag();
+        return ConditionalGet.respond(request, etag, ConditionalGet.PERSONAL,
+                () -> service.getHistory(userId, doctorId, cursor, limit));
+    }
+
+    @GetMapping("/stats")
+    public AppointmentStatsDTO stats() {
+        return service.getStats();
+    }
+
+    @GetMapping("/stats/doctor/{doctorId}")
+    public AppointmentStatsDTO statsByDoctor(@PathVariable Long doctorId) {
+        return service.getStatsByDoctor(doctorId);
+    }
+
+    @GetMapping("/stats/user/{userId}")
+    public AppointmentStatsDTO statsByUser(@PathVariable Long userId) {
+        return service.getStatsByUser(userId);
     }
 
     @PutMapping("/approve/{id}")
-    public Appointment approve(@PathVariable Long id) {
+    public AppointmentViewDTO approve(@PathVariable Long id) {
         return service.approve(id);
     }
 
     @PutMapping("/reject/{id}")
-    public Appointment reject(@PathVariable Long id) {
+    public AppointmentViewDTO reject(@PathVariable Long id) {
         return service.reject(id);
     }
 
+    // Bulk variants take {"ids": [...]} or {"doctorId": X, "date": "yyyy-MM-dd"}
+    @PutMapping("/bulk/approve")
+    public List<BulkOutcomeDTO> approveBulk(@RequestBody BulkAppointmentRequestDTO dto) {
+        return service.approveBulk(dto);
+    }
+
+    @PutMapping("/bulk/reject")
+    public List<BulkOutcomeDTO> rejectBulk(@RequestBody BulkAppointmentRequestDTO dto) {
+        return service.rejectBulk(dto);
+    }
+
+    @PostMapping("/bulk/delete")
+    public List<BulkOutcomeDTO> deleteBulk(@RequestBody BulkAppointmentRequestDTO dto) {
+        return service.deleteBulk(dto);
+    }
+
     // ✅ DELETE APPOINTMENT
     @DeleteMapping("/{id}")
     public void delete(@PathVariable Long id) {
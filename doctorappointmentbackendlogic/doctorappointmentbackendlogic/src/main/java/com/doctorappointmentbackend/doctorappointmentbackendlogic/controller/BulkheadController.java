@@ -0,0 +1,26 @@
+package com.doctorappointmentbackend.doctorappointmentbackendlogic.controller;
+
+import java.util.List;
+
+import org.springframework.web.bind.annotation.*;
+
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.bulkhead.DbBulkheads;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.BulkheadStatsDTO;
+
+@RestController
+@RequestMapping("/bulkhead")
+@CrossOrigin(origins = "*")
+public class BulkheadController {
+
+    private final DbBulkheads bulkheads;
+
+    public BulkheadController(DbBulkheads bulkheads) {
+        this.bulkheads = bulkheads;
+    }
+
+    // One entry per connection pool
+    @GetMapping("/stats")
+    public List<BulkheadStatsDTO> stats() {
+        return bulkheads.stats();
+    }
+}
@@ -0,0 +1,43 @@
+package com.doctorappointmentbackend.doctorappointmentbackendlogic.controller;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.web.bind.annotation.*;
+
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.CacheStatsDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+
+@RestController
+@RequestMapping("/cache")
+@CrossOrigin(origins = "*")
+public class CacheController {
+
+    private final CacheManager cacheManager;
+
+    public CacheController(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    @GetMapping("/stats")
+    public Map<String, CacheStatsDTO> stats() {
+        Map<String, CacheStatsDTO> result = new LinkedHashMap<>();
+        for (String name : cacheManager.getCacheNames()) {
+            if (cacheManager.getCache(name) instanceof CaffeineCache caffeine) {
+                Cache<Object, Object> nativeCache = caffeine.getNativeCache();
+                CacheStats stats = nativeCache.stats();
+                result.put(name, new CacheStatsDTO(
+                        nativeCache.estimatedSize(),
+                        stats.hitCount(),
+                        stats.missCount(),
+                        stats.hitRate(),
+                        stats.evictionCount()
+                ));
+            }
+        }
+        return result;
+    }
+}
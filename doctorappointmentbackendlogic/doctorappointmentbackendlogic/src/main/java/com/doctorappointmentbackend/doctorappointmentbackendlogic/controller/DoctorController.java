@@ -1,10 +1,18 @@
 package com.doctorappointmentbackend.doctorappointmentbackendlogic.controller;
 
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.CursorPageDTO;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.DayAvailabilityDTO;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.etag.ConditionalGet;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.etag.ResourceVersions;
 import com.doctorappointmentbackend.doctorappointmentbackendlogic.model.Doctor;
 import com.doctorappointmentbackend.doctorappointmentbackendlogic.service.DoctorService;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -13,35 +21,89 @@ import java.util.List;
 public class DoctorController {
 
     private final DoctorService service;
+    private final ResourceVersions versions;
 
-    public DoctorController(DoctorService service) {
+    public DoctorController(DoctorService service, ResourceVersions versions) {
         this.service = service;
+        this.versions = versions;
     }
 
+    // Writes bump the doctors version (and the doctor's own, for updates and
+    // deletes) here rather than in the service, so the bump lands after the write
+    // has committed; the doctor caches are keyed by these versions, so entries
+    // loaded before it are never served under it
     @PostMapping
     public Doctor addDoctor(@RequestBody Doctor doctor) {
-        return service.addDoctor(doctor);
+        Doctor saved = service.addDoctor(doctor);
+        versions.doctorsChanged();
+        return saved;
     }
 
+    // Doctor reads are conditional on the doctors version: a matching If-None-Match gets a 304
     @GetMapping
-    public List<Doctor> getAllDoctors() {
-        return service.getAllDoctors();
+    public ResponseEntity<List<Doctor>> getAllDoctors(ServletWebRequest request) {
+        return ConditionalGet.respond(request, versions.doctorsTag(), ConditionalGet.SHARED,
+                service::getAllDoctors);
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<CursorPageDTO<Doctor>> getDoctorsPage(@RequestParam(required = false) String cursor,
+                                                                @RequestParam(required = false) Integer limit,
+                                                                ServletWebRequest request) {
+        return ConditionalGet.respond(request, versions.doctorsTag(), ConditionalGet.SHARED,
+                () -> service.getDoctorsPage(cursor, limit));
+    }
+
+    // Directory search from the in-memory index: ?specialization= exact (case-insensitive),
+    // ?q= word prefixes of name or specialization, id cursor like /page
+    @GetMapping("/search")
+    public ResponseEntity<CursorPageDTO<Doctor>> searchDoctors(@RequestParam(required = false) String specialization,
+                                                               @RequestParam(required = false) String q,
+                                                               @RequestParam(required = false) String cursor,
+                                                               @RequestParam(required = false) Integer limit,
+                                                               ServletWebRequest request) {
+        return ConditionalGet.respond(request, versions.doctorsTag(), ConditionalGet.SHARED,
+                () -> service.searchDoctors(specialization, q, cursor, limit));
+    }
+
+    @GetMapping("/specializations")
+    public ResponseEntity<List<String>> getSpecializations(ServletWebRequest request) {
+        return ConditionalGet.respond(request, versions.doctorsTag(), ConditionalGet.SHARED,
+                service::getSpecializations);
+    }
+
+    @GetMapping("/by-email")
+    public ResponseEntity<Doctor> getDoctorByEmail(@RequestParam String email, ServletWebRequest request) {
+        return ConditionalGet.respondIfPresent(request, versions.doctorsTag(), ConditionalGet.SHARED,
+                () -> service.findDoctorByEmail(email));
     }
 
     @GetMapping("/{id}")
-    public Doctor getDoctorById(@PathVariable Long id) {
-        return service.getDoctorById(id);
+    public ResponseEntity<Doctor> getDoctorById(@PathVariable Long id, ServletWebRequest request) {
+        return ConditionalGet.respond(request, versions.doctorTag(id), ConditionalGet.SHARED,
+                () -> service.getDoctorById(id));
+    }
+
+    @GetMapping("/{id}/availability")
+    public List<DayAvailabilityDTO> getAvailability(
+            @PathVariable Long id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return service.getAvailability(id, from, to);
     }
 
     @PutMapping("/{id}")
     public Doctor updateDoctor(@PathVariable Long id,
                                @RequestBody Doctor doctor) {
-        return service.updateDoctor(id, doctor);
+        Doctor saved = service.updateDoctor(id, doctor);
+        versions.doctorChanged(id);
+        return saved;
     }
 
     @DeleteMapping("/{id}")
     public String deleteDoctor(@PathVariable Long id) {
         service.deleteDoctor(id);
+        versions.doctorChanged(id);
         return "Doctor deleted successfully";
     }
 }
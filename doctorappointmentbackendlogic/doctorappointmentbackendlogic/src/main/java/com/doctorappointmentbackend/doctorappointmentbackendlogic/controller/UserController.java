@@ -2,6 +2,7 @@ package com.doctorappointmentbackend.doctorappointmentbackendlogic.controller;
 
 import org.springframework.web.bind.annotation.*;
 
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.CursorPageDTO;
 import com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.LoginRequestDTO;
 import com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.LoginResponseDTO;
 import com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.UserRequestDTO;
@@ -9,6 +10,7 @@ import com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.UserRespon
 import com.doctorappointmentbackend.doctorappointmentbackendlogic.service.UserService;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/user")
@@ -22,12 +24,12 @@ public class UserController {
     }
 
     @PostMapping("/register")
-    public UserResponseDTO register(@RequestBody UserRequestDTO dto) {
+    public CompletableFuture<UserResponseDTO> register(@RequestBody UserRequestDTO dto) {
         return service.saveUser(dto);
     }
 
     @PostMapping("/login")
-    public LoginResponseDTO login(@RequestBody LoginRequestDTO dto) {
+    public CompletableFuture<LoginResponseDTO> login(@RequestBody LoginRequestDTO dto) {
         return service.login(dto.getEmail(), dto.getPassword());
     }
     
@@ -36,6 +38,12 @@ public class UserController {
         return service.getAllUsers();
     }
     
+    @GetMapping("/page")
+    public CursorPageDTO<UserResponseDTO> getUsersPage(@RequestParam(required = false) String cursor,
+                                                       @RequestParam(required = false) Integer limit) {
+        return service.getUsersPage(cursor, limit);
+    }
+    
     @DeleteMapping("/{id}")
     public void deleteUser(@PathVariable Long id) {
         service.deleteUser(id);
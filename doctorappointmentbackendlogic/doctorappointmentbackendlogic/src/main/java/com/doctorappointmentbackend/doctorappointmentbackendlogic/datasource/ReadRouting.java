@@ -0,0 +1,179 @@
+package com.doctorappointmentbackend.doctorappointmentbackendlogic.datasource;
+
+import java.time.Duration;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.security.AuthenticatedUser;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Decides, per connection, whether a read may go to the replica
+ * (see ReplicaRoutingDataSource). Inert unless db.replica.jdbc-url is set.
+ *
+ * Only @Transactional(readOnly = true) service methods running for an HTTP
+ * request are eligible; Spring Data's own read-only transactions (findById
+ * and friends, often the read half of a write) are not. Startup seeding of
+ * the in-memory indexes and the background jobs always read the primary,
+ * since they must not start from lagging data.
+ *
+ * Read-your-writes: a read-write connection pins the client to the primary
+ * for the read-your-writes window, which must cover the replica's lag. A
+ * client with a valid JWT is pinned by user id, so all its devices see the
+ * write. Every writer also gets a short-lived cookie holding the pin's
+ * expiry, which covers anonymous clients. The address is never used: one
+ * write would pin everyone behind the same NAT or proxy. The rest of the
+ * request that wrote stays on the primary too. Callers can also force the
+ * primary for one request (requirePrimary) or one block (onPrimary).
+ */
+@Component
+public class ReadRouting {
+
+    private static final String PRIMARY_ATTRIBUTE = ReadRouting.class.getName() + ".primary";
+    private static final String PINNED_ATTRIBUTE = ReadRouting.class.getName() + ".pinned";
+    // Value is the epoch millisecond the pin expires; forging it only sends that client to the primary
+    static final String PIN_COOKIE = "db-primary-until";
+    // Transactions are named after the method that declared them
+    private static final String SERVICE_PACKAGE = "com.doctorappointmentbackend.doctorappointmentbackendlogic.serviceimpl.";
+
+    private final boolean enabled;
+    private final Duration window;
+    private final Cache<String, Boolean> pinned;
+    private final ThreadLocal<Boolean> primaryScope = new ThreadLocal<>();
+
+    public ReadRouting(@Value("${db.replica.jdbc-url:}") String replicaUrl,
+                       @Value("${db.routing.read-your-writes:PT5S}") Duration window,
+                       @Value("${db.routing.max-clients:100000}") long maxClients) {
+        this.enabled = !replicaUrl.isBlank();
+        this.window = window;
+        this.pinned = Caffeine.newBuilder()
+                .maximumSize(maxClients)
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Replica lag the routing assumes; writes younger than this are read from the primary
+    public Duration window() {
+        return window;
+    }
+
+    // ================= DECISIONS =================
+
+    boolean replicaAllowed() {
+        if (!enabled
+                || !TransactionSynchronizationManager.isActualTransactionActive()
+                || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || primaryScope.get() != null) {
+            return false;
+        }
+        String transaction = TransactionSynchronizationManager.getCurrentTransactionName();
+        if (transaction == null || !transaction.startsWith(SERVICE_PACKAGE)) {
+            return false;
+        }
+        ServletRequestAttributes request = currentRequest();
+        if (request == null || request.getAttribute(PRIMARY_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null) {
+            return false;
+        }
+        String user = userKey();
+        return !cookiePinned(request.getRequest())
+                && (user == null || pinned.getIfPresent(user) == null);
+    }
+
+    // Called for every read-write connection handed out by the primary
+    void recordWrite() {
+        ServletRequestAttributes request = currentRequest();
+        if (!enabled || request == null) {
+            return;
+        }
+        request.setAttribute(PRIMARY_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        if (request.getAttribute(PINNED_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) == null) {
+            request.setAttribute(PINNED_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+            pinCookie(request.getResponse());
+        }
+        String user = userKey();
+        if (user != null) {
+            pinned.put(user, Boolean.TRUE);
+        }
+    }
+
+    // ================= OVERRIDES =================
+
+    // The rest of the current request reads from the primary
+    public void requirePrimary() {
+        ServletRequestAttributes request = currentRequest();
+        if (enabled && request != null) {
+            request.setAttribute(PRIMARY_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    public <T> T onPrimary(Supplier<T> work) {
+        if (!enabled || primaryScope.get() != null) {
+            return work.get();
+        }
+        primaryScope.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            primaryScope.remove();
+        }
+    }
+
+    private static ServletRequestAttributes currentRequest() {
+        return RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes
+                ? attributes
+                : null;
+    }
+
+    private static boolean cookiePinned(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        for (Cookie cookie : cookies) {
+            if (PIN_COOKIE.equals(cookie.getName())) {
+                try {
+                    return Long.parseLong(cookie.getValue()) > System.currentTimeMillis();
+                } catch (NumberFormatException ex) {
+                    return false;
+                }
+            }
+        }
+        return false;
+    }
+
+    private void pinCookie(HttpServletResponse response) {
+        if (response == null || response.isCommitted()) {
+            return;
+        }
+        Cookie cookie = new Cookie(PIN_COOKIE, Long.toString(System.currentTimeMillis() + window.toMillis()));
+        cookie.setPath("/");
+        cookie.setHttpOnly(true);
+        cookie.setMaxAge((int) Math.max(1, window.toSeconds() + 1));
+        cookie.setAttribute("SameSite", "Lax");
+        response.addCookie(cookie);
+    }
+
+    private static String userKey() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user
+                ? "u:" + user.userId()
+                : null;
+    }
+}
@@ -0,0 +1,112 @@
+package com.doctorappointmentbackend.doctorappointmentbackendlogic.datasource;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Hands out replica connections to the reads ReadRouting allows, and primary
+ * connections to everything else.
+ *
+ * Must sit behind a LazyConnectionDataSourceProxy: the transaction manager
+ * asks for a connection before the transaction is marked read-only, and the
+ * proxy defers the real getConnection() to the first statement.
+ *
+ * If the replica cannot hand out a connection, the read falls back to the
+ * primary and the replica is skipped for retry-after, so an outage costs
+ * one connection timeout rather than one per request.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final ReadRouting routing;
+    private final long retryAfterNanos;
+    private final AtomicLong replicaDownUntil = new AtomicLong(System.nanoTime());
+
+    private final Counter replicaConnections;
+    private final Counter primaryConnections;
+    private final Counter fallbacks;
+
+    public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReadRouting routing,
+                                    Duration retryAfter, MeterRegistry registry) {
+        this.primary = primary;
+        this.replica = replica;
+        this.routing = routing;
+        this.retryAfterNanos = retryAfter.toNanos();
+
+        this.replicaConnections = Counter.builder("db.routing.connections").tag("target", "replica").register(registry);
+        this.primaryConnections = Counter.builder("db.routing.connections").tag("target", "primary").register(registry);
+        this.fallbacks = Counter.builder("db.routing.fallbacks")
+                .description("Replica reads sent to the primary because the replica was unavailable")
+                .register(registry);
+        Gauge.builder("db.routing.replica.up", this, router -> router.replicaUp() ? 1 : 0).register(registry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    // Same routing as getConnection(), with the caller's credentials, like AbstractRoutingDataSource
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(pool -> pool.getConnection(username, password));
+    }
+
+    private Connection route(ConnectionSource source) throws SQLException {
+        if (routing.replicaAllowed() && replicaUp()) {
+            try {
+                Connection connection = source.open(replica);
+                replicaConnections.increment();
+                return connection;
+            } catch (SQLException ex) {
+                replicaDownUntil.set(System.nanoTime() + retryAfterNanos);
+                fallbacks.increment();
+                log.warn("Replica unavailable, reading from the primary for the next {} s",
+                        Duration.ofNanos(retryAfterNanos).toSeconds(), ex);
+            }
+        }
+        Connection connection = source.open(primary);
+        primaryConnections.increment();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            routing.recordWrite();
+        }
+        return connection;
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSource {
+        Connection open(DataSource pool) throws SQLException;
+    }
+
+    private boolean replicaUp() {
+        return System.nanoTime() - replicaDownUntil.get() >= 0;
+    }
+
+    // Pool lookups (metrics, health) see the primary pool
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        return iface.isInstance(this) ? (T) this : primary.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || primary.isWrapperFor(iface);
+    }
+}
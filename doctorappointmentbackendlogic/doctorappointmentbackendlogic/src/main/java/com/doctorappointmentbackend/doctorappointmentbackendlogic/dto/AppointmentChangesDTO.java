@@ -0,0 +1,39 @@
+package com.doctorappointmentbackend.doctorappointmentbackendlogic.dto;
+
+import java.util.List;
+
+/**
+ * One batch of /appointment/changes. Apply upserted (by id) then deleted,
+ * keep cursor for the next call, and call again straight away while
+ * hasMore is true.
+ */
+public class AppointmentChangesDTO {
+
+    private List<AppointmentViewDTO> upserted;
+    private List<Long> deleted;
+    private String cursor;
+    private boolean hasMore;
+
+    public AppointmentChangesDTO(List<AppointmentViewDTO> upserted, List<Long> deleted, String cursor, boolean hasMore) {
+        this.upserted = upserted;
+        this.deleted = deleted;
+        this.cursor = cursor;
+        this.hasMore = hasMore;
+    }
+
+    public List<AppointmentViewDTO> getUpserted() {
+        return upserted;
+    }
+
+    public List<Long> getDeleted() {
+        return deleted;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+}
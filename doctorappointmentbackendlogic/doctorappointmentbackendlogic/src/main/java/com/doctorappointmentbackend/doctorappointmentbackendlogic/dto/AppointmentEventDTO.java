@@ -0,0 +1,94 @@
+package com.doctorappointmentbackend.doctorappointmentbackendlogic.dto;
+
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.model.AppointmentStatus;
+
+/**
+ * One change pushed over /appointment/stream. The full view is included
+ * when the writer already has it (single bookings and status changes);
+ * bulk changes only carry ids and the new status. Write-behind bookings
+ * also carry the ticket they were queued under.
+ */
+public class AppointmentEventDTO {
+
+    // BOOKED, BOOKING_FAILED, STATUS_CHANGED or DELETED
+    private String type;
+    private Long id;
+    private Long doctorId;
+    private Long userId;
+    private AppointmentStatus status;
+    private AppointmentViewDTO appointment;
+    private String ticket;
+
+    public AppointmentEventDTO(String type, Long id, Long doctorId, Long userId,
+                               AppointmentStatus status, AppointmentViewDTO appointment) {
+        this(type, id, doctorId, userId, status, appointment, null);
+    }
+
+    public AppointmentEventDTO(String type, Long id, Long doctorId, Long userId,
+                               AppointmentStatus status, AppointmentViewDTO appointment, String ticket) {
+        this.type = type;
+        this.id = id;
+        this.doctorId = doctorId;
+        this.userId = userId;
+        this.status = status;
+        this.appointment = appointment;
+        this.ticket = ticket;
+    }
+
+    public static AppointmentEventDTO booked(AppointmentViewDTO view) {
+        return new AppointmentEventDTO("BOOKED", view.getId(), view.getDoctorId(), view.getUserId(),
+                view.getStatus(), view);
+    }
+
+    public static AppointmentEventDTO booked(AppointmentViewDTO view, String ticket) {
+        return new AppointmentEventDTO("BOOKED", view.getId(), view.getDoctorId(), view.getUserId(),
+                view.getStatus(), view, ticket);
+    }
+
+    // A queued booking that could not be written; there is no appointment id
+    public static AppointmentEventDTO bookingFailed(String ticket, Long doctorId, Long userId) {
+        return new AppointmentEventDTO("BOOKING_FAILED", null, doctorId, userId, null, null, ticket);
+    }
+
+    public static AppointmentEventDTO statusChanged(AppointmentViewDTO view) {
+        return new AppointmentEventDTO("STATUS_CHANGED", view.getId(), view.getDoctorId(), view.getUserId(),
+                view.getStatus(), view);
+    }
+
+    public static AppointmentEventDTO statusChanged(AppointmentKeyDTO key, AppointmentStatus status) {
+        return new AppointmentEventDTO("STATUS_CHANGED", key.getId(), key.getDoctorId(), key.getUserId(),
+                status, null);
+    }
+
+    public static AppointmentEventDTO deleted(Long id, Long doctorId, Long userId) {
+        return new AppointmentEventDTO("DELETED", id, doctorId, userId, null, null);
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getDoctorId() {
+        return doctorId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public AppointmentStatus getStatus() {
+        return status;
+    }
+
+    public AppointmentViewDTO getAppointment() {
+        return appointment;
+    }
+
+    public String getTicket() {
+        return ticket;
+    }
+}
@@ -0,0 +1,51 @@
+package com.doctorappointmentbackend.doctorappointmentbackendlogic.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.model.AppointmentStatus;
+
+// Columns of an appointment needed to keep the in-memory counters and slot index in step
+public class AppointmentKeyDTO {
+
+    private Long id;
+    private Long doctorId;
+    private Long userId;
+    private LocalDate appointmentDate;
+    private LocalTime appointmentTime;
+    private AppointmentStatus status;
+
+    public AppointmentKeyDTO(Long id, Long doctorId, Long userId,
+                             LocalDate appointmentDate, LocalTime appointmentTime, AppointmentStatus status) {
+        this.id = id;
+        this.doctorId = doctorId;
+        this.userId = userId;
+        this.appointmentDate = appointmentDate;
+        this.appointmentTime = appointmentTime;
+        this.status = status;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getDoctorId() {
+        return doctorId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public LocalDate getAppointmentDate() {
+        return appointmentDate;
+    }
+
+    public LocalTime getAppointmentTime() {
+        return appointmentTime;
+    }
+
+    public AppointmentStatus getStatus() {
+        return status;
+    }
+}
@@ -0,0 +1,106 @@
+package com.doctorappointmentbackend.doctorappointmentbackendlogic.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.model.Appointment;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.model.AppointmentStatus;
+
+/**
+ * Flat read model for an appointment. Built directly by JPQL constructor
+ * expressions (one JOIN, no entity loads) and never carries user credentials.
+ */
+public class AppointmentViewDTO {
+
+    private Long id;
+    private LocalDate appointmentDate;
+    private LocalTime appointmentTime;
+    private AppointmentStatus status;
+
+    private Long doctorId;
+    private String doctorName;
+    private String doctorEmail;
+    private String specialization;
+
+    private Long userId;
+    private String userName;
+    private String userEmail;
+
+    public AppointmentViewDTO(Long id, LocalDate appointmentDate, LocalTime appointmentTime, AppointmentStatus status,
+                              Long doctorId, String doctorName, String doctorEmail, String specialization,
+                              Long userId, String userName, String userEmail) {
+        this.id = id;
+        this.appointmentDate = appointmentDate;
+        this.appointmentTime = appointmentTime;
+        this.status = status;
+        this.doctorId = doctorId;
+        this.doctorName = doctorName;
+        this.doctorEmail = doctorEmail;
+        this.specialization = specialization;
+        this.userId = userId;
+        this.userName = userName;
+        this.userEmail = userEmail;
+    }
+
+    public static AppointmentViewDTO from(Appointment a) {
+        return new AppointmentViewDTO(
+                a.getId(), a.getAppointmentDate(), a.getAppointmentTime(), a.getStatus(),
+                a.getDoctor().getId(), a.getDoctor().getName(), a.getDoctor().getEmail(),
+                a.getDoctor().getSpecialization(),
+                a.getUser().getId(), a.getUser().getName(), a.getUser().getEmail()
+        );
+    }
+
+    // The same appointment after a status transition
+    public AppointmentViewDTO withStatus(AppointmentStatus newStatus) {
+        return new AppointmentViewDTO(
+                id, appointmentDate, appointmentTime, newStatus,
+                doctorId, doctorName, doctorEmail, specialization,
+                userId, userName, userEmail
+        );
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public LocalDate getAppointmentDate() {
+        return appointmentDate;
+    }
+
+    public LocalTime getAppointmentTime() {
+        return appointmentTime;
+    }
+
+    public AppointmentStatus getStatus() {
+        return status;
+    }
+
+    public Long getDoctorId() {
+        return doctorId;
+    }
+
+    public String getDoctorName() {
+        return doctorName;
+    }
+
+    public String getDoctorEmail() {
+        return doctorEmail;
+    }
+
+    public String getSpecialization() {
+        return specialization;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getUserName() {
+        return userName;
+    }
+
+    public String getUserEmail() {
+        return userEmail;
+    }
+}
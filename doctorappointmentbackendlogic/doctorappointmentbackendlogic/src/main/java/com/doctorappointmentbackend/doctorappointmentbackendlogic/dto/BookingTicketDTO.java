@@ -0,0 +1,49 @@
+package com.doctorappointmentbackend.doctorappointmentbackendlogic.dto;
+
+/**
+ * State of a write-behind booking (POST /appointment/book/async), polled at
+ * /appointment/book/tickets/{ticket}. Each state change replaces the ticket.
+ */
+public class BookingTicketDTO {
+
+    private String ticket;
+    // QUEUED, BOOKED or FAILED
+    private String status;
+    private AppointmentViewDTO appointment;
+    private String error;
+
+    public BookingTicketDTO(String ticket, String status, AppointmentViewDTO appointment, String error) {
+        this.ticket = ticket;
+        this.status = status;
+        this.appointment = appointment;
+        this.error = error;
+    }
+
+    public static BookingTicketDTO queued(String ticket) {
+        return new BookingTicketDTO(ticket, "QUEUED", null, null);
+    }
+
+    public static BookingTicketDTO booked(String ticket, AppointmentViewDTO appointment) {
+        return new BookingTicketDTO(ticket, "BOOKED", appointment, null);
+    }
+
+    public static BookingTicketDTO failed(String ticket, String error) {
+        return new BookingTicketDTO(ticket, "FAILED", null, error);
+    }
+
+    public String getTicket() {
+        return ticket;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public AppointmentViewDTO getAppointment() {
+        return appointment;
+    }
+
+    public String getError() {
+        return error;
+    }
+}
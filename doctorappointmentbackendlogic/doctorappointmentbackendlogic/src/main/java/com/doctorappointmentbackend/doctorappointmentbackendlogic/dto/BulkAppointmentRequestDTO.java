@@ -0,0 +1,44 @@
+package com.doctorappointmentbackend.doctorappointmentbackendlogic.dto;
+
+import java.util.List;
+
+// Either a list of ids, or a filter (doctorId + date, optional status)
+public class BulkAppointmentRequestDTO {
+
+    private List<Long> ids;
+    private Long doctorId;
+    private String date;
+    private String status;
+
+    public List<Long> getIds() {
+        return ids;
+    }
+
+    public void setIds(List<Long> ids) {
+        this.ids = ids;
+    }
+
+    public Long getDoctorId() {
+        return doctorId;
+    }
+
+    public void setDoctorId(Long doctorId) {
+        this.doctorId = doctorId;
+    }
+
+    public String getDate() {
+        return date;
+    }
+
+    public void setDate(String date) {
+        this.date = date;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+}
@@ -0,0 +1,21 @@
+package com.doctorappointmentbackend.doctorappointmentbackendlogic.dto;
+
+public class BulkOutcomeDTO {
+
+    // APPROVED, REJECTED, DELETED, NOT_FOUND or SKIPPED (not in a state that allows the change)
+    private Long id;
+    private String outcome;
+
+    public BulkOutcomeDTO(Long id, String outcome) {
+        this.id = id;
+        this.outcome = outcome;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getOutcome() {
+        return outcome;
+    }
+}
@@ -0,0 +1,63 @@
+package com.doctorappointmentbackend.doctorappointmentbackendlogic.dto;
+
+public class BulkheadStatsDTO {
+
+    private String pool;
+    private boolean enabled;
+    private int permits;
+    private int available;
+    private int queued;
+    private long acquired;
+    private long rejected;
+    private double avgWaitMillis;
+    private double maxWaitMillis;
+
+    public BulkheadStatsDTO(String pool, boolean enabled, int permits, int available, int queued,
+                            long acquired, long rejected, double avgWaitMillis, double maxWaitMillis) {
+        this.pool = pool;
+        this.enabled = enabled;
+        this.permits = permits;
+        this.available = available;
+        this.queued = queued;
+        this.acquired = acquired;
+        this.rejected = rejected;
+        this.avgWaitMillis = avgWaitMillis;
+        this.maxWaitMillis = maxWaitMillis;
+    }
+
+    public String getPool() {
+        return pool;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public int getPermits() {
+        return permits;
+    }
+
+    public int getAvailable() {
+        return available;
+    }
+
+    public int getQueued() {
+        return queued;
+    }
+
+    public long getAcquired() {
+        return acquired;
+    }
+
+    public long getRejected() {
+        return rejected;
+    }
+
+    public double getAvgWaitMillis() {
+        return avgWaitMillis;
+    }
+
+    public double getMaxWaitMillis() {
+        return maxWaitMillis;
+    }
+}
@@ -0,0 +1,24 @@
+package com.doctorappointmentbackend.doctorappointmentbackendlogic.dto;
+
+import java.util.List;
+
+public class CursorPageDTO<T> {
+
+    private List<T> items;
+
+    // Pass back as ?cursor= to fetch the following page; null on the last page
+    private String next;
+
+    public CursorPageDTO(List<T> items, String next) {
+        this.items = items;
+        this.next = next;
+    }
+
+    public List<T> getItems() {
+        return items;
+    }
+
+    public String getNext() {
+        return next;
+    }
+}
@@ -0,0 +1,24 @@
+package com.doctorappointmentbackend.doctorappointmentbackendlogic.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+public class DayAvailabilityDTO {
+
+    private LocalDate date;
+    private List<LocalTime> freeSlots;
+
+    public DayAvailabilityDTO(LocalDate date, List<LocalTime> freeSlots) {
+        this.date = date;
+        this.freeSlots = freeSlots;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public List<LocalTime> getFreeSlots() {
+        return freeSlots;
+    }
+}
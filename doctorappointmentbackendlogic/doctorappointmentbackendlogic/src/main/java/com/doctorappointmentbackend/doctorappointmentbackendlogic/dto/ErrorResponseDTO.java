@@ -0,0 +1,26 @@
+package com.doctorappointmentbackend.doctorappointmentbackendlogic.dto;
+
+public class ErrorResponseDTO {
+
+    private int status;
+    private String error;
+    private String message;
+
+    public ErrorResponseDTO(int status, String error, String message) {
+        this.status = status;
+        this.error = error;
+        this.message = message;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+}
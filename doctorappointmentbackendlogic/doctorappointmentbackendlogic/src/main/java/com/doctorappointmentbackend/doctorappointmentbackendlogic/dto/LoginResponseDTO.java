@@ -4,12 +4,15 @@ public class LoginResponseDTO {
 
     private Long userId;
     private String role;
+    private String token;
 
-    public LoginResponseDTO(Long userId, String role) {
+    public LoginResponseDTO(Long userId, String role, String token) {
         this.userId = userId;
         this.role = role;
+        this.token = token;
     }
 
     public Long getUserId() { return userId; }
     public String getRole() { return role; }
+    public String getToken() { return token; }
 }
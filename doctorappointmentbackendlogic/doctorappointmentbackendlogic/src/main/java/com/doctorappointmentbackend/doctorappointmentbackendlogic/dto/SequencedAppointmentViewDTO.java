@@ -0,0 +1,28 @@
+package com.doctorappointmentbackend.doctorappointmentbackendlogic.dto;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.model.AppointmentStatus;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+// Change-feed row: the usual view plus the change_seq the cursor is built from
+public class SequencedAppointmentViewDTO extends AppointmentViewDTO {
+
+    @JsonIgnore
+    private long changeSeq;
+
+    public SequencedAppointmentViewDTO(long changeSeq, Long id, LocalDate appointmentDate, LocalTime appointmentTime,
+                                       AppointmentStatus status,
+                                       Long doctorId, String doctorName, String doctorEmail, String specialization,
+                                       Long userId, String userName, String userEmail) {
+        super(id, appointmentDate, appointmentTime, status,
+                doctorId, doctorName, doctorEmail, specialization,
+                userId, userName, userEmail);
+        this.changeSeq = changeSeq;
+    }
+
+    public long getChangeSeq() {
+        return changeSeq;
+    }
+}
@@ -0,0 +1,66 @@
+package com.doctorappointmentbackend.doctorappointmentbackendlogic.etag;
+
+import java.util.Enumeration;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.ServletWebRequest;
+
+/**
+ * Answers a GET from its ETag alone when the client's If-None-Match still
+ * matches (304, body supplier never called), otherwise with the body and
+ * the tag.
+ *
+ * Responses may be stored but must be revalidated on every use (no-cache),
+ * which keeps clients correct while repeat reads shrink to headers only.
+ * The tag is only attached to 200s, so a 404 is never revalidated into a 304.
+ */
+public final class ConditionalGet {
+
+    public static final CacheControl SHARED = CacheControl.noCache().cachePublic();
+    public static final CacheControl PERSONAL = CacheControl.noCache().cachePrivate();
+
+    private ConditionalGet() {
+    }
+
+    public static <T> ResponseEntity<T> respond(ServletWebRequest request, String etag,
+                                                CacheControl cacheControl, Supplier<T> body) {
+        return respondIfPresent(request, etag, cacheControl, () -> Optional.of(body.get()));
+    }
+
+    // As respond, but an empty lookup is a plain 404
+    public static <T> ResponseEntity<T> respondIfPresent(ServletWebRequest request, String etag,
+                                                         CacheControl cacheControl, Supplier<Optional<T>> body) {
+        String quoted = '"' + etag + '"';
+        if (matchesIfNoneMatch(request, quoted)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                    .eTag(quoted)
+                    .cacheControl(cacheControl)
+                    .build();
+        }
+        return body.get()
+                .map(found -> ResponseEntity.ok().eTag(quoted).cacheControl(cacheControl).body(found))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    // Weak comparison, as RFC 9110 prescribes for If-None-Match
+    private static boolean matchesIfNoneMatch(ServletWebRequest request, String quoted) {
+        Enumeration<String> headers = request.getRequest().getHeaders(HttpHeaders.IF_NONE_MATCH);
+        while (headers.hasMoreElements()) {
+            for (String candidate : headers.nextElement().split(",")) {
+                String tag = candidate.trim();
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if (tag.equals(quoted) || tag.equals("*")) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,129 @@
+package com.doctorappointmentbackend.doctorappointmentbackendlogic.etag;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.datasource.ReadRouting;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+/**
+ * In-memory version counters behind the ETags of the doctor and appointment
+ * reads, so a matching If-None-Match is answered without a query.
+ *
+ * Services bump a counter only after their write has committed. A read that
+ * races a write can therefore pair an older version with newer data (the
+ * client just refetches next time), but never a newer version with stale data.
+ * With a read replica the data can lag the counters, so a tag whose counters
+ * moved within the read-your-writes window sends the rest of the request to
+ * the primary.
+ *
+ * Appointment views embed doctor and user fields, so their tags include
+ * the doctor and user counters too. Tags start with a per-boot epoch, since
+ * counters restart at zero; like the other in-memory indexes this assumes a
+ * single instance owns the writes.
+ */
+@Component
+public class ResourceVersions {
+
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+
+    private final AtomicLong doctors = new AtomicLong();
+    private final ConcurrentMap<Long, AtomicLong> doctorsById = new ConcurrentHashMap<>();
+    private final AtomicLong users = new AtomicLong();
+    private final AtomicLong appointments = new AtomicLong();
+    private final ConcurrentMap<Long, AtomicLong> appointmentsByDoctor = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, AtomicLong> appointmentsByUser = new ConcurrentHashMap<>();
+
+    private final ReadRouting readRouting;
+    // Scopes bumped within the read-your-writes window; only kept while a replica is configured
+    private final Cache<String, Boolean> recentlyChanged;
+
+    public ResourceVersions(ReadRouting readRouting) {
+        this.readRouting = readRouting;
+        this.recentlyChanged = readRouting.isEnabled()
+                ? Caffeine.newBuilder().expireAfterWrite(readRouting.window()).build()
+                : null;
+    }
+
+    // ================= WRITES =================
+
+    public void doctorsChanged() {
+        doctors.incrementAndGet();
+        touched("d");
+    }
+
+    // One doctor updated or deleted: its own version moves along with the directory's
+    public void doctorChanged(Long doctorId) {
+        doctorsById.computeIfAbsent(doctorId, id -> new AtomicLong()).incrementAndGet();
+        touched("d" + doctorId);
+        doctorsChanged();
+    }
+
+    public void usersChanged() {
+        users.incrementAndGet();
+        touched("u");
+    }
+
+    public void appointmentChanged(Long doctorId, Long userId) {
+        appointments.incrementAndGet();
+        appointmentsByDoctor.computeIfAbsent(doctorId, id -> new AtomicLong()).incrementAndGet();
+        appointmentsByUser.computeIfAbsent(userId, id -> new AtomicLong()).incrementAndGet();
+        touched("a");
+        touched("ad" + doctorId);
+        touched("au" + userId);
+    }
+
+    private void touched(String scope) {
+        if (recentlyChanged != null) {
+            recentlyChanged.put(scope, Boolean.TRUE);
+        }
+    }
+
+    // ================= TAGS =================
+
+    public String doctorsTag() {
+        primaryIfRecent("d");
+        return epoch + "-d" + doctors.get();
+    }
+
+    // A single doctor: unaffected by writes to any other doctor
+    public String doctorTag(Long doctorId) {
+        primaryIfRecent("d" + doctorId);
+        return epoch + "-d" + doctorId + "." + versionOf(doctorsById, doctorId);
+    }
+
+    public String allAppointmentsTag() {
+        return appointmentTag("a", appointments.get());
+    }
+
+    public String doctorAppointmentsTag(Long doctorId) {
+        return appointmentTag("ad" + doctorId, versionOf(appointmentsByDoctor, doctorId));
+    }
+
+    public String userAppointmentsTag(Long userId) {
+        return appointmentTag("au" + userId, versionOf(appointmentsByUser, userId));
+    }
+
+    private String appointmentTag(String scope, long version) {
+        primaryIfRecent(scope);
+        primaryIfRecent("d");
+        primaryIfRecent("u");
+        return epoch + "-" + scope + "." + version + "-d" + doctors.get() + "-u" + users.get();
+    }
+
+    private void primaryIfRecent(String scope) {
+        if (recentlyChanged != null && recentlyChanged.getIfPresent(scope) != null) {
+            readRouting.requirePrimary();
+        }
+    }
+
+    private static long versionOf(ConcurrentMap<Long, AtomicLong> versions, Long id) {
+        AtomicLong version = versions.get(id);
+        return version == null ? 0 : version.get();
+    }
+}
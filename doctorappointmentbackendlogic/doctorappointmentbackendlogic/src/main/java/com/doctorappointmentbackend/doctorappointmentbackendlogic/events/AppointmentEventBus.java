@@ -0,0 +1,322 @@
+package com.doctorappointmentbackend.doctorappointmentbackendlogic.events;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.AppointmentEventDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * In-process fan-out of appointment changes to SSE subscribers, keyed by
+ * doctor and by user.
+ *
+ * publish() never blocks and never does I/O: each event is serialized once,
+ * then offered to the bounded buffer of every interested subscriber. A few
+ * sender threads drain the buffers onto the connections. An idle stream
+ * holds no thread at all (the request is async), only its buffer.
+ *
+ * A subscriber whose buffer is full has stopped keeping up, so it is evicted
+ * and its stream closed; EventSource reconnects and the client refetches.
+ * Heartbeats go through the same buffers, so a dead connection whose socket
+ * has stopped draining is evicted the same way. Eviction only flags the
+ * subscriber: the emitter is completed by its own sender, never by the
+ * publishing thread, since SseEmitter.send and complete share one lock.
+ *
+ * A send still blocked on a slow socket after send-timeout also evicts its
+ * subscriber, and the sender pool gets one extra thread (up to
+ * max-sender-threads) until that write returns, so a few stalled clients
+ * cannot hold up delivery to everyone else. The blocked write itself ends
+ * with the connector's write timeout (server.tomcat.connection-timeout).
+ *
+ * Services publish only after their write has committed, next to the
+ * other in-memory updates.
+ */
+@Component
+public class AppointmentEventBus {
+
+    private static final Logger log = LoggerFactory.getLogger(AppointmentEventBus.class);
+
+    // Buffer entry for a heartbeat comment
+    private static final Frame HEARTBEAT = new Frame(null, 0, null);
+
+    private final ObjectMapper objectMapper;
+    private final int bufferSize;
+    private final long timeoutMillis;
+
+    private final Map<Long, Set<Subscriber>> byDoctor = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Subscriber>> byUser = new ConcurrentHashMap<>();
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    // Subscribers with a drain task running, evicted or not, for the stall watchdog
+    private final Set<Subscriber> sending = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final ThreadPoolExecutor senders;
+    private final int maxSenderThreads;
+    private final long sendTimeoutNanos;
+    private final ScheduledExecutorService heartbeats;
+    private final Counter evicted;
+    private final Counter published;
+
+    public AppointmentEventBus(ObjectMapper objectMapper,
+                               MeterRegistry registry,
+                               @Value("${appointment.stream.buffer-size:64}") int bufferSize,
+                               @Value("${appointment.stream.sender-threads:2}") int senderThreads,
+                               @Value("${appointment.stream.max-sender-threads:16}") int maxSenderThreads,
+                               @Value("${appointment.stream.send-timeout:PT10S}") Duration sendTimeout,
+                               @Value("${appointment.stream.heartbeat-seconds:25}") long heartbeatSeconds,
+                               @Value("${appointment.stream.timeout-minutes:30}") long timeoutMinutes) {
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = TimeUnit.MINUTES.toMillis(timeoutMinutes);
+
+        this.maxSenderThreads = Math.max(senderThreads, maxSenderThreads);
+        this.sendTimeoutNanos = sendTimeout.toNanos();
+        // Grows past senderThreads only while stalled writes are being compensated for
+        this.senders = new ThreadPoolExecutor(senderThreads, this.maxSenderThreads, 60, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), daemonThreads("sse-sender-"));
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(daemonThreads("sse-heartbeat-"));
+        this.heartbeats.scheduleAtFixedRate(this::heartbeat, heartbeatSeconds, heartbeatSeconds, TimeUnit.SECONDS);
+        this.heartbeats.scheduleAtFixedRate(this::evictStalled, 1, 1, TimeUnit.SECONDS);
+
+        Gauge.builder("appointment.stream.subscribers", subscribers, Set::size).register(registry);
+        this.evicted = Counter.builder("appointment.stream.evicted")
+                .description("Subscribers dropped for a full buffer or a stalled send")
+                .register(registry);
+        this.published = Counter.builder("appointment.stream.published").register(registry);
+    }
+
+    // ================= SUBSCRIBE =================
+
+    public SseEmitter subscribeDoctor(Long doctorId) {
+        return subscribe(byDoctor, doctorId);
+    }
+
+    public SseEmitter subscribeUser(Long userId) {
+        return subscribe(byUser, userId);
+    }
+
+    private SseEmitter subscribe(Map<Long, Set<Subscriber>> index, Long key) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(emitter, index, key);
+
+        // Added inside compute so it cannot race remove() dropping an emptied set
+        index.compute(key, (k, set) -> {
+            Set<Subscriber> target = set != null ? set : ConcurrentHashMap.<Subscriber>newKeySet();
+            target.add(subscriber);
+            return target;
+        });
+        subscribers.add(subscriber);
+        emitter.onCompletion(subscriber::remove);
+        emitter.onTimeout(subscriber::remove);
+        emitter.onError(error -> subscriber.remove());
+
+        // Flushes the headers straight away so the client sees the stream open
+        subscriber.offer(HEARTBEAT);
+        return emitter;
+    }
+
+    // ================= PUBLISH =================
+
+    public void publish(AppointmentEventDTO event) {
+        Set<Subscriber> forDoctor = byDoctor.get(event.getDoctorId());
+        Set<Subscriber> forUser = byUser.get(event.getUserId());
+        if (forDoctor == null && forUser == null) {
+            return;
+        }
+
+        Frame frame;
+        try {
+            frame = new Frame(event.getType(), sequence.incrementAndGet(), objectMapper.writeValueAsString(event));
+        } catch (JsonProcessingException ex) {
+            log.warn("Could not serialize appointment event {}", event.getId(), ex);
+            return;
+        }
+        published.increment();
+        if (forDoctor != null) {
+            forDoctor.forEach(subscriber -> subscriber.offer(frame));
+        }
+        if (forUser != null) {
+            forUser.forEach(subscriber -> subscriber.offer(frame));
+        }
+    }
+
+    private void heartbeat() {
+        subscribers.forEach(subscriber -> subscriber.offer(HEARTBEAT));
+    }
+
+    private void evictStalled() {
+        long now = System.nanoTime();
+        sending.forEach(subscriber -> subscriber.evictIfStalled(now));
+    }
+
+    // One extra sender per stalled write, so the pool keeps its healthy threads
+    private synchronized boolean addSender() {
+        int core = senders.getCorePoolSize();
+        if (core >= maxSenderThreads) {
+            return false;
+        }
+        senders.setCorePoolSize(core + 1);
+        return true;
+    }
+
+    private synchronized void releaseSender() {
+        senders.setCorePoolSize(senders.getCorePoolSize() - 1);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeats.shutdownNow();
+        senders.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    // ================= SUBSCRIBER =================
+
+    private record Frame(String name, long id, String json) {
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final Map<Long, Set<Subscriber>> index;
+        private final Long key;
+        private final BlockingQueue<Frame> buffer = new ArrayBlockingQueue<>(bufferSize);
+        // At most one drain task per subscriber is queued or running
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private final AtomicBoolean evictedOnce = new AtomicBoolean();
+        private final AtomicBoolean completed = new AtomicBoolean();
+        // Set once the current drain has been found stalled, and while it holds an extra sender thread
+        private final AtomicBoolean stalled = new AtomicBoolean();
+        private final AtomicBoolean compensated = new AtomicBoolean();
+        // nanoTime when the current send started, 0 while not sending
+        private volatile long sendingSince;
+        private volatile boolean closed;
+
+        Subscriber(SseEmitter emitter, Map<Long, Set<Subscriber>> index, Long key) {
+            this.emitter = emitter;
+            this.index = index;
+            this.key = key;
+        }
+
+        void offer(Frame frame) {
+            if (closed) {
+                return;
+            }
+            if (!buffer.offer(frame)) {
+                // The sender completes the stream; complete() here could block behind a slow send
+                evict();
+            }
+            schedule();
+        }
+
+        void evictIfStalled(long now) {
+            long since = sendingSince;
+            if (since != 0 && now - since > sendTimeoutNanos && stalled.compareAndSet(false, true)) {
+                evict();
+                if (addSender()) {
+                    compensated.set(true);
+                    // The write may have returned in the meantime, before its drain could see the flag
+                    if (sendingSince == 0 && compensated.compareAndSet(true, false)) {
+                        releaseSender();
+                    }
+                }
+                // Completes the stream if the drain has already gone past its closed check
+                schedule();
+            }
+        }
+
+        private void evict() {
+            if (evictedOnce.compareAndSet(false, true)) {
+                evicted.increment();
+                remove();
+            }
+        }
+
+        private void schedule() {
+            if (draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            sending.add(this);
+            try {
+                Frame frame;
+                while (!closed && (frame = buffer.poll()) != null) {
+                    sendingSince = System.nanoTime() | 1;
+                    emitter.send(frame == HEARTBEAT
+                            ? SseEmitter.event().comment("")
+                            : SseEmitter.event().name(frame.name()).id(Long.toString(frame.id())).data(frame.json()));
+                    sendingSince = 0;
+                }
+            } catch (IOException | IllegalStateException ex) {
+                // Client went away (or the emitter already completed); nothing left to complete
+                completed.set(true);
+                remove();
+            } finally {
+                sendingSince = 0;
+                sending.remove(this);
+                stalled.set(false);
+                if (compensated.compareAndSet(true, false)) {
+                    releaseSender();
+                }
+                draining.set(false);
+            }
+            if (closed) {
+                if (evictedOnce.get() && completed.compareAndSet(false, true)) {
+                    emitter.complete();
+                }
+                return;
+            }
+            // An offer may have landed after the last poll but before the flag was cleared
+            if (!buffer.isEmpty()) {
+                schedule();
+            }
+        }
+
+        void remove() {
+            closed = true;
+            subscribers.remove(this);
+            index.computeIfPresent(key, (k, set) -> {
+                set.remove(this);
+                return set.isEmpty() ? null : set;
+            });
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
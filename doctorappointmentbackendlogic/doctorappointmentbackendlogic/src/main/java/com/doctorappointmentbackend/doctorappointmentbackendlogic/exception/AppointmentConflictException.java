@@ -0,0 +1,9 @@
+package com.doctorappointmentbackend.doctorappointmentbackendlogic.exception;
+
+// A status change lost its compare-and-set: the appointment is no longer in the expected state
+public class AppointmentConflictException extends ConflictException {
+
+    public AppointmentConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,19 @@
+package com.doctorappointmentbackend.doctorappointmentbackendlogic.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class AuthenticationFailedException extends DomainException {
+
+    // Same answer for unknown email and wrong password, so accounts can't be probed
+    public static final AuthenticationFailedException INVALID_CREDENTIALS =
+            new AuthenticationFailedException("Invalid email or password");
+
+    public AuthenticationFailedException(String message) {
+        super(message);
+    }
+
+    @Override
+    public HttpStatus status() {
+        return HttpStatus.UNAUTHORIZED;
+    }
+}
@@ -0,0 +1,15 @@
+package com.doctorappointmentbackend.doctorappointmentbackendlogic.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class BadRequestException extends DomainException {
+
+    public BadRequestException(String message) {
+        super(message);
+    }
+
+    @Override
+    public HttpStatus status() {
+        return HttpStatus.BAD_REQUEST;
+    }
+}
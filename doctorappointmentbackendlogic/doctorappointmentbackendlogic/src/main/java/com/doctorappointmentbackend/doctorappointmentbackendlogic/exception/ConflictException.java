@@ -0,0 +1,16 @@
+package com.doctorappointmentbackend.doctorappointmentbackendlogic.exception;
+
+import org.springframework.http.HttpStatus;
+
+// The request clashes with existing data: duplicate email, slot already booked...
+public class ConflictException extends DomainException {
+
+    public ConflictException(String message) {
+        super(message);
+    }
+
+    @Override
+    public HttpStatus status() {
+        return HttpStatus.CONFLICT;
+    }
+}
@@ -0,0 +1,19 @@
+package com.doctorappointmentbackend.doctorappointmentbackendlogic.exception;
+
+import org.springframework.http.HttpStatus;
+
+/**
+ * Base for expected business outcomes (not found, conflict, bad credentials...).
+ *
+ * These are control flow, not bugs, so they skip stack-trace capture and
+ * suppression bookkeeping; constructing one costs about as much as the
+ * message string. Instances with a fixed message may be shared constants.
+ */
+public abstract class DomainException extends RuntimeException {
+
+    protected DomainException(String message) {
+        super(message, null, false, false);
+    }
+
+    public abstract HttpStatus status();
+}
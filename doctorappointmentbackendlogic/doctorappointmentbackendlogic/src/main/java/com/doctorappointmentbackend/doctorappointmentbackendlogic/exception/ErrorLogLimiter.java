@@ -0,0 +1,45 @@
+package com.doctorappointmentbackend.doctorappointmentbackendlogic.exception;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-key fixed-window limiter for error log lines. Keys are exception
+ * types, so the map stays small. When a key is over its budget the line is
+ * dropped and counted; the next line that gets through reports how many
+ * were suppressed in between.
+ */
+class ErrorLogLimiter {
+
+    private final int perSecond;
+    private final ConcurrentMap<String, Window> windows = new ConcurrentHashMap<>();
+
+    ErrorLogLimiter(int perSecond) {
+        this.perSecond = perSecond;
+    }
+
+    // Returns -1 if the line should be dropped, else the number suppressed since the last one
+    long tryAcquire(String key) {
+        Window window = windows.computeIfAbsent(key, k -> new Window());
+        long second = System.currentTimeMillis() / 1000;
+
+        long current = window.second.get();
+        if (current != second && window.second.compareAndSet(current, second)) {
+            window.count.set(0);
+        }
+        if (window.count.incrementAndGet() > perSecond) {
+            window.suppressed.increment();
+            return -1;
+        }
+        return window.suppressed.sumThenReset();
+    }
+
+    private static final class Window {
+        final AtomicLong second = new AtomicLong();
+        final AtomicInteger count = new AtomicInteger();
+        final LongAdder suppressed = new LongAdder();
+    }
+}
@@ -1,32 +1,111 @@
 package com.doctorappointmentbackend.doctorappointmentbackendlogic.exception;
 
+import java.time.format.DateTimeParseException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.web.ErrorResponse;
+import org.springframework.web.bind.MissingServletRequestParameterException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
+
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.ErrorResponseDTO;
 
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Maps failures to status codes and a small JSON body ({status, error, message}).
+ *
+ * Expected outcomes ({@link DomainException}) are logged at DEBUG only;
+ * overload (503) at WARN and unexpected failures at ERROR with the stack
+ * trace. WARN/ERROR lines are key=value formatted and rate-limited per
+ * exception type; the appender itself is asynchronous (logback-spring.xml).
+ */
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
-    @ExceptionHandler(RuntimeException.class)
-    public ResponseEntity<String> handleRuntime(RuntimeException ex) {
-        // Log the error for debugging
-        ex.printStackTrace();
-        
-        // Return proper error message
-        String message = ex.getMessage() != null ? ex.getMessage() : "An error occurred";
-        return ResponseEntity
-                .status(HttpStatus.BAD_REQUEST)
-                .body(message);
+    private static final Logger log = LoggerFactory.getLogger(GlobalExceptionHandler.class);
+
+    private final ErrorLogLimiter limiter;
+
+    public GlobalExceptionHandler(@Value("${logging.errors.max-per-second:20}") int maxPerSecond) {
+        this.limiter = new ErrorLogLimiter(maxPerSecond);
+    }
+
+    @ExceptionHandler(DomainException.class)
+    public ResponseEntity<ErrorResponseDTO> handleDomain(DomainException ex, HttpServletRequest request) {
+        HttpStatus status = ex.status();
+        if (status == HttpStatus.SERVICE_UNAVAILABLE) {
+            long suppressed = limiter.tryAcquire(ex.getClass().getSimpleName());
+            if (suppressed >= 0) {
+                log.warn("event=request_rejected status={} type={} method={} path={} suppressed={} message=\"{}\"",
+                        status.value(), ex.getClass().getSimpleName(), request.getMethod(),
+                        request.getRequestURI(), suppressed, ex.getMessage());
+            }
+            return respond(status, ex.getMessage(), true);
+        }
+        if (log.isDebugEnabled()) {
+            log.debug("event=request_failed status={} type={} method={} path={} message=\"{}\"",
+                    status.value(), ex.getClass().getSimpleName(), request.getMethod(),
+                    request.getRequestURI(), ex.getMessage());
+        }
+        return respond(status, ex.getMessage(), false);
     }
-    
+
+    // Unique constraints and foreign keys that no service check caught first
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    public ResponseEntity<ErrorResponseDTO> handleIntegrity(DataIntegrityViolationException ex) {
+        return respond(HttpStatus.CONFLICT, "The change conflicts with existing data", false);
+    }
+
+    // Client input only; any other IllegalArgumentException is a bug and goes to handleUnexpected.
+    // Deliberate rejections are BadRequestException (see handleDomain)
+    @ExceptionHandler({
+            HttpMessageNotReadableException.class,
+            MethodArgumentTypeMismatchException.class,
+            MissingServletRequestParameterException.class,
+            DateTimeParseException.class
+    })
+    public ResponseEntity<ErrorResponseDTO> handleMalformed(Exception ex) {
+        return respond(HttpStatus.BAD_REQUEST, "Malformed request: " + ex.getClass().getSimpleName(), false);
+    }
+
     @ExceptionHandler(Exception.class)
-    public ResponseEntity<String> handleGeneric(Exception ex) {
-        // Log the error for debugging
-        ex.printStackTrace();
-        
-        return ResponseEntity
-                .status(HttpStatus.INTERNAL_SERVER_ERROR)
-                .body("Internal server error: " + ex.getMessage());
+    public ResponseEntity<ErrorResponseDTO> handleUnexpected(Exception ex, HttpServletRequest request) {
+        // e.g. a DB bulkhead rejection wrapped by the transaction manager that asked for the connection
+        for (Throwable cause = ex.getCause(); cause != null; cause = cause.getCause()) {
+            if (cause instanceof DomainException domain) {
+                return handleDomain(domain, request);
+            }
+        }
+        // Framework errors that already know their status (unknown route, wrong method...)
+        if (ex instanceof ErrorResponse framework) {
+            HttpStatusCode code = framework.getStatusCode();
+            HttpStatus status = HttpStatus.resolve(code.value());
+            return respond(status != null ? status : HttpStatus.BAD_REQUEST, ex.getMessage(), false);
+        }
+
+        long suppressed = limiter.tryAcquire(ex.getClass().getName());
+        if (suppressed >= 0) {
+            log.error("event=request_error status=500 type={} method={} path={} suppressed={}",
+                    ex.getClass().getName(), request.getMethod(), request.getRequestURI(), suppressed, ex);
+        }
+        return respond(HttpStatus.INTERNAL_SERVER_ERROR, "Internal server error", false);
+    }
+
+    private static ResponseEntity<ErrorResponseDTO> respond(HttpStatus status, String message, boolean retry) {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.status(status);
+        if (retry) {
+            builder.header(HttpHeaders.RETRY_AFTER, "1");
+        }
+        return builder.body(new ErrorResponseDTO(status.value(), status.name(), message));
     }
 }
@@ -0,0 +1,15 @@
+package com.doctorappointmentbackend.doctorappointmentbackendlogic.exception;
+
+import org.springframework.http.HttpStatus;
+
+public class NotFoundException extends DomainException {
+
+    public NotFoundException(String message) {
+        super(message);
+    }
+
+    @Override
+    public HttpStatus status() {
+        return HttpStatus.NOT_FOUND;
+    }
+}
@@ -0,0 +1,16 @@
+package com.doctorappointmentbackend.doctorappointmentbackendlogic.exception;
+
+import org.springframework.http.HttpStatus;
+
+// A change-feed cursor predates the tombstone retention window; the client must start over
+public class ResyncRequiredException extends DomainException {
+
+    public ResyncRequiredException(String message) {
+        super(message);
+    }
+
+    @Override
+    public HttpStatus status() {
+        return HttpStatus.GONE;
+    }
+}
@@ -0,0 +1,16 @@
+package com.doctorappointmentbackend.doctorappointmentbackendlogic.exception;
+
+import org.springframework.http.HttpStatus;
+
+// A bounded worker pool is full; the client should retry shortly
+public class ServiceBusyException extends DomainException {
+
+    public ServiceBusyException(String message) {
+        super(message);
+    }
+
+    @Override
+    public HttpStatus status() {
+        return HttpStatus.SERVICE_UNAVAILABLE;
+    }
+}
@@ -0,0 +1,60 @@
+package com.doctorappointmentbackend.doctorappointmentbackendlogic.index;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.repository.DoctorRepository;
+
+/**
+ * In-process email -> doctor id map.
+ *
+ * Loaded once at startup and kept coherent by DoctorServiceImpl on add,
+ * update and delete, so resolving a logged-in doctor's profile becomes a
+ * primary-key lookup.
+ */
+@Component
+public class DoctorEmailIndex implements SmartInitializingSingleton {
+
+    private final DoctorRepository doctorRepo;
+    private final ConcurrentHashMap<String, Long> idsByEmail = new ConcurrentHashMap<>();
+
+    public DoctorEmailIndex(DoctorRepository doctorRepo) {
+        this.doctorRepo = doctorRepo;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        List<Object[]> rows = doctorRepo.findAllIdsAndEmails();
+        for (Object[] row : rows) {
+            put((String) row[1], (Long) row[0]);
+        }
+    }
+
+    public Long idFor(String email) {
+        String key = normalize(email);
+        return key != null ? idsByEmail.get(key) : null;
+    }
+
+    public void put(String email, Long doctorId) {
+        String key = normalize(email);
+        if (key != null) {
+            idsByEmail.put(key, doctorId);
+        }
+    }
+
+    public void remove(String email, Long doctorId) {
+        String key = normalize(email);
+        if (key != null) {
+            // Only drop the mapping if it still points at this doctor
+            idsByEmail.remove(key, doctorId);
+        }
+    }
+
+    private static String normalize(String email) {
+        return email != null ? email.trim().toLowerCase(Locale.ROOT) : null;
+    }
+}
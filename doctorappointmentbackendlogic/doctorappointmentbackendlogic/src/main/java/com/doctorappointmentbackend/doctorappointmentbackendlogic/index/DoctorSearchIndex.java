@@ -0,0 +1,332 @@
+package com.doctorappointmentbackend.doctorappointmentbackendlogic.index;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.model.Doctor;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.repository.DoctorRepository;
+
+/**
+ * In-process doctor directory behind /doctor/search.
+ *
+ * Holds a detached copy of every doctor plus two inverted indexes over it,
+ * both mapping to sorted id arrays: normalized specialization -> ids, and a
+ * sorted map of every word of the name and specialization -> ids, so a
+ * prefix query is a range scan over distinct words. A search walks the
+ * smallest matching id list from the cursor (for a prefix, a lazy merge of
+ * the lists of the words it spans) and checks the other filters per doctor,
+ * so the cost follows the result page, not the directory size.
+ *
+ * Loaded once at startup and kept current by DoctorServiceImpl on add,
+ * update and delete, like DoctorEmailIndex. Writes are rare, so id arrays
+ * are copied on write and reads never lock. Returned doctors are the shared
+ * copies and must not be modified.
+ */
+@Component
+public class DoctorSearchIndex implements SmartInitializingSingleton {
+
+    private static final long[] NONE = new long[0];
+    private static final Pattern NON_WORD = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private final DoctorRepository doctorRepo;
+
+    private final ConcurrentSkipListMap<Long, Entry> entries = new ConcurrentSkipListMap<>();
+    private final ConcurrentHashMap<String, long[]> idsBySpecialization = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<String, long[]> idsByWord = new ConcurrentSkipListMap<>();
+    // Display form of each normalized specialization, for the filter dropdown
+    private final ConcurrentHashMap<String, String> specializationNames = new ConcurrentHashMap<>();
+
+    public DoctorSearchIndex(DoctorRepository doctorRepo) {
+        this.doctorRepo = doctorRepo;
+    }
+
+    // Bulk build: per-doctor copy-on-write would be quadratic for common words
+    @Override
+    public synchronized void afterSingletonsInstantiated() {
+        Map<String, List<Long>> bySpecialization = new HashMap<>();
+        Map<String, List<Long>> byWord = new HashMap<>();
+        for (Doctor doctor : doctorRepo.findAll()) {
+            Entry entry = Entry.of(doctor);
+            entries.put(entry.id(), entry);
+            if (!entry.specialization().isEmpty()) {
+                bySpecialization.computeIfAbsent(entry.specialization(), key -> new ArrayList<>()).add(entry.id());
+                specializationNames.putIfAbsent(entry.specialization(), doctor.getSpecialization().trim());
+            }
+            for (String word : entry.words()) {
+                byWord.computeIfAbsent(word, key -> new ArrayList<>()).add(entry.id());
+            }
+        }
+        bySpecialization.forEach((key, ids) -> idsBySpecialization.put(key, sorted(ids)));
+        byWord.forEach((key, ids) -> idsByWord.put(key, sorted(ids)));
+    }
+
+    // ================= QUERIES =================
+
+    // At most max doctors with id > afterId matching both filters; either may be blank
+    public List<Doctor> search(String specialization, String query, long afterId, int max) {
+        long[] bySpecialization = null;
+        if (specialization != null && !specialization.isBlank()) {
+            bySpecialization = idsBySpecialization.getOrDefault(normalize(specialization), NONE);
+        }
+        List<String> prefixes = words(query).stream().distinct().toList();
+
+        if (bySpecialization == null && prefixes.isEmpty()) {
+            List<Doctor> results = new ArrayList<>(max);
+            for (Entry entry : entries.tailMap(afterId, false).values()) {
+                if (results.size() == max) {
+                    break;
+                }
+                results.add(entry.doctor());
+            }
+            return results;
+        }
+
+        // Drive from the smallest id list; everything else is checked per doctor
+        int driverSize = bySpecialization == null ? Integer.MAX_VALUE : bySpecialization.length;
+        Collection<long[]> drivingLists = null;
+        String drivingPrefix = null;
+        for (String prefix : prefixes) {
+            Collection<long[]> lists = idsByWord.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values();
+            int size = 0;
+            for (long[] ids : lists) {
+                size += ids.length;
+            }
+            if (size < driverSize) {
+                driverSize = size;
+                drivingLists = lists;
+                drivingPrefix = prefix;
+            }
+        }
+        IdStream candidates = drivingPrefix == null
+                ? new ArrayIds(bySpecialization, afterId)
+                : merge(drivingLists, afterId);
+
+        List<Doctor> results = new ArrayList<>(Math.min(max, 64));
+        for (long id = candidates.next(); id != IdStream.END && results.size() < max; id = candidates.next()) {
+            if (bySpecialization != null && drivingPrefix != null
+                    && Arrays.binarySearch(bySpecialization, id) < 0) {
+                continue;
+            }
+            Entry entry = entries.get(id);
+            if (entry != null && entry.matches(prefixes, drivingPrefix)) {
+                results.add(entry.doctor());
+            }
+        }
+        return results;
+    }
+
+    public boolean contains(Long doctorId) {
+        return entries.containsKey(doctorId);
+    }
+
+    public List<String> specializations() {
+        return specializationNames.values().stream()
+                .sorted(String.CASE_INSENSITIVE_ORDER)
+                .toList();
+    }
+
+    // ================= MUTATIONS =================
+
+    // Serialized so the copy-on-write updates of one doctor never interleave
+    public synchronized void put(Doctor doctor) {
+        Entry entry = Entry.of(doctor);
+        Entry previous = entries.put(entry.id(), entry);
+        if (previous != null) {
+            unindex(previous);
+        }
+        if (!entry.specialization().isEmpty()) {
+            idsBySpecialization.merge(entry.specialization(), new long[] {entry.id()},
+                    (ids, added) -> with(ids, entry.id()));
+            specializationNames.putIfAbsent(entry.specialization(), doctor.getSpecialization().trim());
+        }
+        for (String word : entry.words()) {
+            idsByWord.merge(word, new long[] {entry.id()}, (ids, added) -> with(ids, entry.id()));
+        }
+    }
+
+    public synchronized void remove(Long doctorId) {
+        Entry previous = entries.remove(doctorId);
+        if (previous != null) {
+            unindex(previous);
+        }
+    }
+
+    private void unindex(Entry entry) {
+        String specialization = entry.specialization();
+        if (!specialization.isEmpty()
+                && idsBySpecialization.computeIfPresent(specialization, (key, ids) -> without(ids, entry.id())) == null) {
+            specializationNames.remove(specialization);
+        }
+        for (String word : entry.words()) {
+            idsByWord.computeIfPresent(word, (key, ids) -> without(ids, entry.id()));
+        }
+    }
+
+    // ================= ID ARRAYS =================
+
+    private static long[] with(long[] ids, long id) {
+        int at = Arrays.binarySearch(ids, id);
+        if (at >= 0) {
+            return ids;
+        }
+        int insert = -at - 1;
+        long[] copy = new long[ids.length + 1];
+        System.arraycopy(ids, 0, copy, 0, insert);
+        copy[insert] = id;
+        System.arraycopy(ids, insert, copy, insert + 1, ids.length - insert);
+        return copy;
+    }
+
+    // null (dropping the map entry) once the last id is gone
+    private static long[] without(long[] ids, long id) {
+        int at = Arrays.binarySearch(ids, id);
+        if (at < 0) {
+            return ids;
+        }
+        if (ids.length == 1) {
+            return null;
+        }
+        long[] copy = new long[ids.length - 1];
+        System.arraycopy(ids, 0, copy, 0, at);
+        System.arraycopy(ids, at + 1, copy, at, ids.length - at - 1);
+        return copy;
+    }
+
+    // A short prefix can span many words; merge their id lists lazily, only as far as the page needs
+    private static IdStream merge(Collection<long[]> lists, long afterId) {
+        return lists.size() == 1 ? new ArrayIds(lists.iterator().next(), afterId) : new MergedIds(lists, afterId);
+    }
+
+    private static int firstAfter(long[] ids, long afterId) {
+        int at = Arrays.binarySearch(ids, afterId);
+        return at >= 0 ? at + 1 : -at - 1;
+    }
+
+    // Ascending, distinct ids above a cursor, pulled one at a time
+    private interface IdStream {
+        long END = Long.MIN_VALUE;
+
+        long next();
+    }
+
+    private static final class ArrayIds implements IdStream {
+        private final long[] ids;
+        private int at;
+
+        ArrayIds(long[] ids, long afterId) {
+            this.ids = ids;
+            this.at = firstAfter(ids, afterId);
+        }
+
+        long peek() {
+            return at < ids.length ? ids[at] : END;
+        }
+
+        @Override
+        public long next() {
+            return at < ids.length ? ids[at++] : END;
+        }
+    }
+
+    // k-way merge over the lists' heads; a doctor can match one prefix through several words
+    private static final class MergedIds implements IdStream {
+        // Ordered by peek(), so a list is only advanced while it is out of the queue
+        private final PriorityQueue<ArrayIds> heads;
+        private long last = END;
+
+        MergedIds(Collection<long[]> lists, long afterId) {
+            this.heads = new PriorityQueue<>(lists.size(), Comparator.comparingLong(ArrayIds::peek));
+            for (long[] ids : lists) {
+                ArrayIds list = new ArrayIds(ids, afterId);
+                if (list.peek() != END) {
+                    heads.add(list);
+                }
+            }
+        }
+
+        @Override
+        public long next() {
+            while (!heads.isEmpty()) {
+                ArrayIds head = heads.poll();
+                long id = head.next();
+                if (head.peek() != END) {
+                    heads.add(head);
+                }
+                if (id != last) {
+                    last = id;
+                    return id;
+                }
+            }
+            return END;
+        }
+    }
+
+    private static long[] sorted(List<Long> ids) {
+        long[] array = ids.stream().mapToLong(Long::longValue).toArray();
+        Arrays.sort(array);
+        return array;
+    }
+
+    // ================= NORMALIZATION =================
+
+    private static List<String> words(String text) {
+        String normalized = normalize(text);
+        if (normalized.isEmpty()) {
+            return List.of();
+        }
+        return Arrays.stream(NON_WORD.split(normalized))
+                .filter(word -> !word.isEmpty())
+                .toList();
+    }
+
+    // Case- and accent-insensitive: "José" and "jose" index the same
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = Normalizer.normalize(text.trim(), Normalizer.Form.NFD);
+        return MARKS.matcher(decomposed).replaceAll("").toLowerCase(Locale.ROOT);
+    }
+
+    // Detached copy plus its normalized keys, computed once per write
+    private record Entry(Long id, Doctor doctor, String specialization, List<String> words) {
+
+        static Entry of(Doctor source) {
+            Doctor copy = new Doctor();
+            copy.setId(source.getId());
+            copy.setName(source.getName());
+            copy.setSpecialization(source.getSpecialization());
+            copy.setPhone(source.getPhone());
+            copy.setEmail(source.getEmail());
+
+            List<String> words = new ArrayList<>(DoctorSearchIndex.words(source.getName()));
+            words.addAll(DoctorSearchIndex.words(source.getSpecialization()));
+            return new Entry(copy.getId(), copy, normalize(source.getSpecialization()),
+                    words.stream().distinct().toList());
+        }
+
+        boolean matches(List<String> prefixes, String alreadyMatched) {
+            for (String prefix : prefixes) {
+                if (!prefix.equals(alreadyMatched) && words.stream().noneMatch(word -> word.startsWith(prefix))) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+}
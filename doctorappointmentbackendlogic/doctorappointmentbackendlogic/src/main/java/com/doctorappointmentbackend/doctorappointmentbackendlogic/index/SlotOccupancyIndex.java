@@ -0,0 +1,134 @@
+package com.doctorappointmentbackend.doctorappointmentbackendlogic.index;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.repository.AppointmentRepository;
+
+/**
+ * Per-doctor, per-day slot occupancy held as a 1440-bit bitmap (one bit per
+ * minute of the day, 23 longs).
+ *
+ * Bits are claimed with a lock-free compare-and-set, so concurrent bookings
+ * for the same slot are settled in memory before any of them reaches the
+ * database. The unique (doctor_id, appointment_date, appointment_time,
+ * slot_held) constraint on appointments remains the backstop for anything
+ * this index has not seen (past days, other nodes).
+ */
+@Component
+public class SlotOccupancyIndex implements SmartInitializingSingleton {
+
+    static final int MINUTES_PER_DAY = 24 * 60;
+    private static final int WORDS_PER_DAY = (MINUTES_PER_DAY + 63) / 64;
+    private static final long EPOCH_DAY_MASK = (1L << 24) - 1;
+
+    private final AppointmentRepository appointmentRepo;
+    private final ConcurrentHashMap<Long, AtomicLongArray> days = new ConcurrentHashMap<>();
+
+    public SlotOccupancyIndex(AppointmentRepository appointmentRepo) {
+        this.appointmentRepo = appointmentRepo;
+    }
+
+    // Only today and later can still be booked, so older days are not loaded
+    @Override
+    public void afterSingletonsInstantiated() {
+        List<Object[]> rows = appointmentRepo.findHeldSlotsFrom(LocalDate.now());
+        for (Object[] row : rows) {
+            tryReserve((Long) row[0], (LocalDate) row[1], (LocalTime) row[2]);
+        }
+    }
+
+    /**
+     * Claims the slot. Returns false if it is already held.
+     */
+    public boolean tryReserve(Long doctorId, LocalDate date, LocalTime time) {
+        AtomicLongArray bits = days.computeIfAbsent(key(doctorId, date), k -> new AtomicLongArray(WORDS_PER_DAY));
+        int minute = minuteOf(time);
+        int word = minute >>> 6;
+        long mask = 1L << (minute & 63);
+
+        while (true) {
+            long current = bits.get(word);
+            if ((current & mask) != 0) {
+                return false;
+            }
+            if (bits.compareAndSet(word, current, current | mask)) {
+                return true;
+            }
+        }
+    }
+
+    public void release(Long doctorId, LocalDate date, LocalTime time) {
+        AtomicLongArray bits = days.get(key(doctorId, date));
+        if (bits == null) {
+            return;
+        }
+        int minute = minuteOf(time);
+        int word = minute >>> 6;
+        long mask = 1L << (minute & 63);
+
+        while (true) {
+            long current = bits.get(word);
+            if ((current & mask) == 0 || bits.compareAndSet(word, current, current & ~mask)) {
+                return;
+            }
+        }
+    }
+
+    public boolean isHeld(Long doctorId, LocalDate date, LocalTime time) {
+        AtomicLongArray bits = days.get(key(doctorId, date));
+        if (bits == null) {
+            return false;
+        }
+        int minute = minuteOf(time);
+        return (bits.get(minute >>> 6) & (1L << (minute & 63))) != 0;
+    }
+
+    /**
+     * True if no minute in [start, start + minutes) is held.
+     */
+    public boolean isFree(Long doctorId, LocalDate date, LocalTime start, int minutes) {
+        AtomicLongArray bits = days.get(key(doctorId, date));
+        if (bits == null) {
+            return true;
+        }
+        int from = minuteOf(start);
+        int to = Math.min(from + minutes, MINUTES_PER_DAY);
+
+        for (int word = from >>> 6; word <= (to - 1) >>> 6; word++) {
+            int base = word << 6;
+            int lo = Math.max(from, base) - base;
+            int hi = Math.min(to, base + 64) - base;
+            long mask = (hi == 64 ? -1L : (1L << hi) - 1) & (-1L << lo);
+            if ((bits.get(word) & mask) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Drop bitmaps for days that can no longer be booked
+    @Scheduled(cron = "0 5 0 * * *")
+    public void pruneBeforeToday() {
+        long today = LocalDate.now().toEpochDay();
+        days.keySet().removeIf(key -> (key & EPOCH_DAY_MASK) < today);
+    }
+
+    // ================= KEYS =================
+
+    // doctorId in the high bits, epoch day in the low 24 bits (good until year 47000+)
+    static long key(Long doctorId, LocalDate date) {
+        return (doctorId << 24) | (date.toEpochDay() & EPOCH_DAY_MASK);
+    }
+
+    static int minuteOf(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+}
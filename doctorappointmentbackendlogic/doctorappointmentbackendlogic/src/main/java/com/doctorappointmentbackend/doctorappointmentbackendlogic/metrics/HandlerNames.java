@@ -0,0 +1,23 @@
+package com.doctorappointmentbackend.doctorappointmentbackendlogic.metrics;
+
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+// "AppointmentController.book" for the controller method that served the request
+final class HandlerNames {
+
+    static final String NONE = "none";
+
+    private HandlerNames() {
+    }
+
+    static String of(HttpServletRequest request) {
+        if (request != null
+                && request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE) instanceof HandlerMethod method) {
+            return method.getBeanType().getSimpleName() + "." + method.getMethod().getName();
+        }
+        return NONE;
+    }
+}
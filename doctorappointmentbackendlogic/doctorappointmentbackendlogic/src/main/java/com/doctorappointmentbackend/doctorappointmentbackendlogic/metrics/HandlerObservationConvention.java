@@ -0,0 +1,23 @@
+package com.doctorappointmentbackend.doctorappointmentbackendlogic.metrics;
+
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+
+/**
+ * Adds a "handler" tag (controller class + method) to http.server.requests,
+ * so latency histograms can be read per controller method rather than only
+ * per URI pattern.
+ */
+@Component
+public class HandlerObservationConvention extends DefaultServerRequestObservationConvention {
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        return super.getLowCardinalityKeyValues(context)
+                .and(KeyValue.of("handler", HandlerNames.of(context.getCarrier())));
+    }
+}
@@ -0,0 +1,88 @@
+package com.doctorappointmentbackend.doctorappointmentbackendlogic.metrics;
+
+import java.io.IOException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Records how many SQL statements each request issued, per controller
+ * method (http.server.requests.queries), and warns when one request goes
+ * over metrics.query-count.warn-threshold, which usually means an N+1.
+ *
+ * Async requests (login/register) are counted across both dispatches; work
+ * done on other pools is not attributed to the request.
+ */
+@Component
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    static final String PARTIAL_COUNT = QueryCountFilter.class.getName() + ".partial";
+
+    private static final Logger log = LoggerFactory.getLogger(QueryCountFilter.class);
+
+    private final MeterRegistry registry;
+    private final int warnThreshold;
+
+    public QueryCountFilter(MeterRegistry registry,
+                            @Value("${metrics.query-count.warn-threshold:10}") int warnThreshold) {
+        this.registry = registry;
+        this.warnThreshold = warnThreshold;
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        QueryCountInspector.reset();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            int count = countSoFar(request);
+            if (request.isAsyncStarted()) {
+                request.setAttribute(PARTIAL_COUNT, count);
+            } else {
+                record(request, count);
+            }
+            QueryCountInspector.clear();
+        }
+    }
+
+    static int countSoFar(HttpServletRequest request) {
+        Object partial = request.getAttribute(PARTIAL_COUNT);
+        return (partial instanceof Integer earlier ? earlier : 0) + QueryCountInspector.current();
+    }
+
+    private void record(HttpServletRequest request, int count) {
+        String handler = HandlerNames.of(request);
+        if (HandlerNames.NONE.equals(handler)) {
+            return;
+        }
+        DistributionSummary.builder("http.server.requests.queries")
+                .description("SQL statements issued per request")
+                .baseUnit("statements")
+                .tag("handler", handler)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(count);
+
+        if (count > warnThreshold) {
+            log.warn("{} {} ({}) issued {} SQL statements, possible N+1",
+                    request.getMethod(), request.getRequestURI(), handler, count);
+        }
+    }
+}
@@ -1,11 +1,26 @@
 package com.doctorappointmentbackend.doctorappointmentbackendlogic.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import jakarta.persistence.*;
 import java.time.LocalDate;
 import java.time.LocalTime;
 
 @Entity
-@Table(name = "appointments")
+@Table(
+        name = "appointments",
+        // slot_held is NULL once an appointment is rejected, which frees the slot
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_appointments_doctor_slot",
+                columnNames = {"doctor_id", "appointment_date", "appointment_time", "slot_held"}
+        ),
+        // Created by Flyway (V2__hot_path_indexes.sql); listed here for reference
+        indexes = {
+                @Index(name = "idx_appointments_user_date", columnList = "user_id, appointment_date, appointment_time"),
+                @Index(name = "idx_appointments_status", columnList = "status"),
+                @Index(name = "idx_appointments_change_seq", columnList = "change_seq")
+        }
+)
 public class Appointment {
 
     @Id
@@ -22,7 +37,17 @@ public class Appointment {
 
     private LocalDate appointmentDate;
     private LocalTime appointmentTime;
-    private String status;
+    private AppointmentStatus status;
+
+    @JsonIgnore
+    private Boolean slotHeld;
+
+    @Version
+    private Long version;
+
+    // Stamped from ChangeSequence on insert and on every status change; drives /appointment/changes
+    @JsonIgnore
+    private long changeSeq;
 
     // ✅ GETTERS & SETTERS (MANDATORY)
 
@@ -66,11 +91,35 @@ public class Appointment {
         this.appointmentTime = appointmentTime;
     }
 
-    public String getStatus() {
+    public AppointmentStatus getStatus() {
         return status;
     }
 
-    public void setStatus(String status) {
+    public void setStatus(AppointmentStatus status) {
         this.status = status;
     }
+
+    public Boolean getSlotHeld() {
+        return slotHeld;
+    }
+
+    public void setSlotHeld(Boolean slotHeld) {
+        this.slotHeld = slotHeld;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public long getChangeSeq() {
+        return changeSeq;
+    }
+
+    public void setChangeSeq(long changeSeq) {
+        this.changeSeq = changeSeq;
+    }
 }
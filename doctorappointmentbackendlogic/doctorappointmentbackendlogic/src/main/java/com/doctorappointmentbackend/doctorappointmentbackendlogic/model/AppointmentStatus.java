@@ -0,0 +1,43 @@
+package com.doctorappointmentbackend.doctorappointmentbackendlogic.model;
+
+/**
+ * Appointment lifecycle: PENDING -> APPROVED or PENDING -> REJECTED.
+ * APPROVED and REJECTED are final.
+ *
+ * Stored as a TINYINT via {@link AppointmentStatusConverter}; the codes are
+ * persisted, so never renumber them.
+ */
+public enum AppointmentStatus {
+
+    PENDING(0),
+    APPROVED(1),
+    REJECTED(2);
+
+    private final byte code;
+
+    AppointmentStatus(int code) {
+        this.code = (byte) code;
+    }
+
+    public byte getCode() {
+        return code;
+    }
+
+    public boolean canTransitionTo(AppointmentStatus next) {
+        return this == PENDING && (next == APPROVED || next == REJECTED);
+    }
+
+    // Rejected appointments give their slot back
+    public boolean holdsSlot() {
+        return this != REJECTED;
+    }
+
+    public static AppointmentStatus fromCode(byte code) {
+        for (AppointmentStatus status : values()) {
+            if (status.code == code) {
+                return status;
+            }
+        }
+        throw new IllegalArgumentException("Unknown appointment status code: " + code);
+    }
+}
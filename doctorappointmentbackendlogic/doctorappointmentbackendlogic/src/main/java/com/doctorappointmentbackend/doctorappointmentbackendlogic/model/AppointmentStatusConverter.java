@@ -0,0 +1,18 @@
+package com.doctorappointmentbackend.doctorappointmentbackendlogic.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+@Converter(autoApply = true)
+public class AppointmentStatusConverter implements AttributeConverter<AppointmentStatus, Byte> {
+
+    @Override
+    public Byte convertToDatabaseColumn(AppointmentStatus status) {
+        return status != null ? status.getCode() : null;
+    }
+
+    @Override
+    public AppointmentStatus convertToEntityAttribute(Byte code) {
+        return code != null ? AppointmentStatus.fromCode(code) : null;
+    }
+}
@@ -0,0 +1,72 @@
+package com.doctorappointmentbackend.doctorappointmentbackendlogic.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+import org.springframework.data.domain.Persistable;
+
+// Left behind by a deleted appointment so /appointment/changes can report the delete.
+// The id is assigned, so Persistable tells save() a new tombstone is new: a plain
+// (batchable) INSERT instead of merge's SELECT per row
+@Entity
+@Table(name = "appointment_tombstones")
+public class AppointmentTombstone implements Persistable<Long> {
+
+    @Id
+    private Long appointmentId;
+
+    private Long userId;
+    private Long doctorId;
+    private long changeSeq;
+    private LocalDateTime deletedAt;
+
+    @Transient
+    private boolean isNew = true;
+
+    protected AppointmentTombstone() {
+    }
+
+    public AppointmentTombstone(Long appointmentId, Long userId, Long doctorId, long changeSeq) {
+        this.appointmentId = appointmentId;
+        this.userId = userId;
+        this.doctorId = doctorId;
+        this.changeSeq = changeSeq;
+        this.deletedAt = LocalDateTime.now();
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    @Override
+    public Long getId() {
+        return appointmentId;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    public Long getAppointmentId() {
+        return appointmentId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Long getDoctorId() {
+        return doctorId;
+    }
+
+    public long getChangeSeq() {
+        return changeSeq;
+    }
+
+    public LocalDateTime getDeletedAt() {
+        return deletedAt;
+    }
+}
@@ -0,0 +1,65 @@
+package com.doctorappointmentbackend.doctorappointmentbackendlogic.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+// Cold copy of an appointment past the archive horizon; rows are written only by AppointmentArchiver
+@Entity
+@Table(name = "appointments_archive")
+public class ArchivedAppointment {
+
+    // Keeps the id it had in the hot table
+    @Id
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "doctor_id", nullable = false)
+    private Doctor doctor;
+
+    private LocalDate appointmentDate;
+    private LocalTime appointmentTime;
+    private AppointmentStatus status;
+    private long version;
+    private LocalDateTime archivedAt;
+
+    protected ArchivedAppointment() {
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public User getUser() {
+        return user;
+    }
+
+    public Doctor getDoctor() {
+        return doctor;
+    }
+
+    public LocalDate getAppointmentDate() {
+        return appointmentDate;
+    }
+
+    public LocalTime getAppointmentTime() {
+        return appointmentTime;
+    }
+
+    public AppointmentStatus getStatus() {
+        return status;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public LocalDateTime getArchivedAt() {
+        return archivedAt;
+    }
+}
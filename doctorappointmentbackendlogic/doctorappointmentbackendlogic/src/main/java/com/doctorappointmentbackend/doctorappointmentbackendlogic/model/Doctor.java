@@ -13,6 +13,8 @@ public class Doctor {
     private String name;
     private String specialization;
     private String phone;
+
+    @Column(unique = true)
     private String email;
 
     // ===== GETTERS & SETTERS =====
@@ -0,0 +1,116 @@
+package com.doctorappointmentbackend.doctorappointmentbackendlogic.pagination;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.CursorPageDTO;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.AppointmentViewDTO;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.exception.BadRequestException;
+
+/**
+ * Cursor helpers for keyset (seek) pagination.
+ *
+ * Appointments are ordered by (appointmentDate, appointmentTime, id) and their
+ * cursor is an opaque base64 token of that tuple. Users and doctors are ordered
+ * by id and their cursor is simply the last id returned.
+ */
+public final class KeysetCursors {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 500;
+
+    private KeysetCursors() {
+    }
+
+    public static int clampLimit(Integer limit) {
+        if (limit == null || limit <= 0) {
+            return DEFAULT_LIMIT;
+        }
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    // One extra row tells us whether another page exists
+    public static Pageable probe(int limit) {
+        return PageRequest.of(0, limit + 1);
+    }
+
+    public static <T, R> CursorPageDTO<R> page(
+            List<T> rows, int limit, Function<T, String> cursorOf, Function<T, R> mapper) {
+        boolean hasMore = rows.size() > limit;
+        List<T> items = hasMore ? rows.subList(0, limit) : rows;
+        String next = hasMore ? cursorOf.apply(items.get(items.size() - 1)) : null;
+        return new CursorPageDTO<>(items.stream().map(mapper).toList(), next);
+    }
+
+    // ================= APPOINTMENTS =================
+
+    public static String encode(AppointmentViewDTO appointment) {
+        String raw = appointment.getAppointmentDate() + "|"
+                + appointment.getAppointmentTime() + "|"
+                + appointment.getId();
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static AppointmentKey decodeAppointment(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            return new AppointmentKey(
+                    LocalDate.parse(parts[0]),
+                    LocalTime.parse(parts[1]),
+                    Long.parseLong(parts[2]));
+        } catch (RuntimeException ex) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    // ================= CHANGE FEED =================
+
+    // floor: the purge horizon when the client's sync from scratch began (see TombstonePurger)
+    public static String encodeChange(long changeSeq, long id, long floor) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString((changeSeq + "|" + id + "|" + floor).getBytes(StandardCharsets.UTF_8));
+    }
+
+    // A missing cursor starts from the beginning of the feed; cursors issued before floors existed have none
+    public static ChangeKey decodeChange(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return new ChangeKey(0L, 0L, 0L);
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|");
+            long floor = parts.length > 2 ? Long.parseLong(parts[2]) : 0L;
+            return new ChangeKey(Long.parseLong(parts[0]), Long.parseLong(parts[1]), floor);
+        } catch (RuntimeException ex) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    // ================= ID-ORDERED =================
+
+    public static long decodeId(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0L;
+        }
+        try {
+            return Long.parseLong(cursor);
+        } catch (NumberFormatException ex) {
+            throw new BadRequestException("Invalid cursor");
+        }
+    }
+
+    public record AppointmentKey(LocalDate date, LocalTime time, Long id) {
+    }
+
+    public record ChangeKey(long changeSeq, long id, long floor) {
+    }
+}
@@ -0,0 +1,159 @@
+package com.doctorappointmentbackend.doctorappointmentbackendlogic.ratelimit;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.security.AuthenticatedUser;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Per-client admission control for the expensive public routes (login,
+ * register, booking), configured under ratelimit.routes.
+ *
+ * Runs in the security chain right after the JWT filter, so a request is
+ * charged to its user id when it carries a valid token and to its client IP
+ * otherwise. Each route keeps its buckets in a bounded Caffeine map that
+ * forgets clients idle for idle-timeout. An empty bucket is answered 429
+ * with Retry-After before the request reaches a controller, a Tomcat thread
+ * is held only for the bucket check, and no connection is taken.
+ *
+ * Behind a proxy, set server.forward-headers-strategy so the client IP is
+ * the forwarded one rather than the proxy's.
+ */
+@Component
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(AdmissionControlFilter.class);
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private static final String THROTTLED_BODY =
+            "{\"status\":429,\"error\":\"TOO_MANY_REQUESTS\",\"message\":\"Too many requests, please retry later\"}";
+
+    private final boolean enabled;
+    private final List<Route> routes = new ArrayList<>();
+    private final AntPathMatcher matcher = new AntPathMatcher();
+
+    public AdmissionControlFilter(RateLimitProperties properties, MeterRegistry registry) {
+        this.enabled = properties.enabled();
+        Map<String, RateLimitProperties.Route> configured =
+                properties.routes() != null ? properties.routes() : Map.of();
+        configured.forEach((name, route) -> {
+            if (route.capacity() < 1 || route.refillPerSecond() <= 0) {
+                throw new IllegalArgumentException("ratelimit.routes." + name
+                        + " needs capacity >= 1 and refill-per-second > 0");
+            }
+            routes.add(new Route(name, route, properties, registry));
+        });
+        if (enabled && !routes.isEmpty()) {
+            log.info("Admission control on {}", configured.keySet());
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || routes.isEmpty();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+
+        Route route = match(request);
+        if (route == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+
+        long waitNanos = route.tryAcquire(clientKey(request));
+        if (waitNanos > 0) {
+            route.throttled.increment();
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            // Whole seconds, rounded up, so a client honouring it finds a token
+            response.setHeader(HttpHeaders.RETRY_AFTER,
+                    Long.toString((waitNanos + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write(THROTTLED_BODY);
+            return;
+        }
+        chain.doFilter(request, response);
+    }
+
+    private Route match(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (Route route : routes) {
+            if (route.method.equalsIgnoreCase(request.getMethod()) && matcher.match(route.pattern, path)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    private static String clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return "u:" + user.userId();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+
+    private static final class Route {
+
+        private final String method;
+        private final String pattern;
+        private final long intervalNanos;
+        // How far ahead of now the bucket may run once a token is taken
+        private final long burstNanos;
+        private final Cache<String, TokenBucket> buckets;
+        private final Counter throttled;
+
+        Route(String name, RateLimitProperties.Route config, RateLimitProperties properties, MeterRegistry registry) {
+            this.method = config.method() != null ? config.method() : "POST";
+            this.pattern = config.pattern();
+            this.intervalNanos = Math.max(1, (long) (NANOS_PER_SECOND / config.refillPerSecond()));
+            this.burstNanos = intervalNanos * config.capacity();
+            this.buckets = Caffeine.newBuilder()
+                    .maximumSize(properties.maxClients())
+                    .expireAfterAccess(properties.idleTimeout())
+                    .build();
+
+            this.throttled = Counter.builder("http.server.requests.throttled")
+                    .description("Requests refused with 429 by admission control")
+                    .tag("route", name)
+                    .register(registry);
+            Gauge.builder("ratelimit.clients", buckets, Cache::estimatedSize)
+                    .description("Clients with a live bucket")
+                    .tag("route", name)
+                    .register(registry);
+        }
+
+        long tryAcquire(String client) {
+            long now = System.nanoTime();
+            return buckets.get(client, key -> new TokenBucket(now)).tryAcquire(now, intervalNanos, burstNanos);
+        }
+    }
+}
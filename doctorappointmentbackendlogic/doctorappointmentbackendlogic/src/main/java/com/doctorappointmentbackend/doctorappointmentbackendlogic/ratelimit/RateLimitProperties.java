@@ -0,0 +1,23 @@
+package com.doctorappointmentbackend.doctorappointmentbackendlogic.ratelimit;
+
+import java.time.Duration;
+import java.util.Map;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * ratelimit.* settings. Each route names a method and a path pattern, and
+ * gives every client a bucket of capacity requests refilled at
+ * refill-per-second: capacity is the burst, the refill the sustained rate.
+ */
+@ConfigurationProperties(prefix = "ratelimit")
+public record RateLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("100000") long maxClients,
+        @DefaultValue("PT10M") Duration idleTimeout,
+        Map<String, Route> routes) {
+
+    public record Route(String method, String pattern, int capacity, double refillPerSecond) {
+    }
+}
@@ -0,0 +1,37 @@
+package com.doctorappointmentbackend.doctorappointmentbackendlogic.ratelimit;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket kept as a single timestamp (the GCRA form): the time at which
+ * the bucket would be full again if nothing else arrived. Taking a token
+ * pushes it one refill interval further, and is refused if that would put
+ * it more than capacity intervals ahead of now. One CAS per request, no
+ * lock, and no refill bookkeeping.
+ */
+public final class TokenBucket {
+
+    private final AtomicLong fullAt;
+
+    public TokenBucket(long nowNanos) {
+        this.fullAt = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * Takes one token. Returns 0 if it was available, otherwise the nanos
+     * until one will be (nothing is taken then).
+     */
+    public long tryAcquire(long nowNanos, long intervalNanos, long burstNanos) {
+        while (true) {
+            long current = fullAt.get();
+            long next = Math.max(current, nowNanos) + intervalNanos;
+            long wait = next - burstNanos - nowNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+}
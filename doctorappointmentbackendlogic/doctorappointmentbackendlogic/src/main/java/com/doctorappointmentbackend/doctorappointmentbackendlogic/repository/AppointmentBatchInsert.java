@@ -0,0 +1,16 @@
+package com.doctorappointmentbackend.doctorappointmentbackendlogic.repository;
+
+import java.util.List;
+
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.AppointmentKeyDTO;
+
+// Custom fragment of AppointmentRepository for statements Spring Data cannot derive
+public interface AppointmentBatchInsert {
+
+    /**
+     * Inserts all rows with one multi-row INSERT, stamped with a shared
+     * change_seq (ids on the keys are ignored). One bad row fails the whole
+     * statement. Must run inside a transaction.
+     */
+    int insertAll(List<AppointmentKeyDTO> rows, long changeSeq);
+}
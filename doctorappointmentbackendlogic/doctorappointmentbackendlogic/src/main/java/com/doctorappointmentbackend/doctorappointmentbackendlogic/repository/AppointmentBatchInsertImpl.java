@@ -0,0 +1,45 @@
+package com.doctorappointmentbackend.doctorappointmentbackendlogic.repository;
+
+import java.util.List;
+
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.AppointmentKeyDTO;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+// IDENTITY keys rule out Hibernate's insert batching, so the statement is built by hand
+class AppointmentBatchInsertImpl implements AppointmentBatchInsert {
+
+    private static final String INSERT = "INSERT INTO appointments "
+            + "(user_id, doctor_id, appointment_date, appointment_time, status, slot_held, version, change_seq) VALUES ";
+
+    private static final String ROW = "(?, ?, ?, ?, ?, ?, 0, ?)";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int insertAll(List<AppointmentKeyDTO> rows, long changeSeq) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        StringBuilder sql = new StringBuilder(INSERT.length() + rows.size() * (ROW.length() + 2)).append(INSERT);
+        for (int i = 0; i < rows.size(); i++) {
+            sql.append(i == 0 ? "" : ", ").append(ROW);
+        }
+
+        Query insert = entityManager.createNativeQuery(sql.toString());
+        int position = 1;
+        for (AppointmentKeyDTO row : rows) {
+            insert.setParameter(position++, row.getUserId());
+            insert.setParameter(position++, row.getDoctorId());
+            insert.setParameter(position++, row.getAppointmentDate());
+            insert.setParameter(position++, row.getAppointmentTime());
+            insert.setParameter(position++, row.getStatus().getCode());
+            insert.setParameter(position++, row.getStatus().holdsSlot() ? Boolean.TRUE : null);
+            insert.setParameter(position++, changeSeq);
+        }
+        return insert.executeUpdate();
+    }
+}
@@ -1,18 +1,209 @@
 package com.doctorappointmentbackend.doctorappointmentbackendlogic.repository;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.AppointmentKeyDTO;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.AppointmentViewDTO;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.SequencedAppointmentViewDTO;
 import com.doctorappointmentbackend.doctorappointmentbackendlogic.model.Appointment;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.model.AppointmentStatus;
+
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 
 @Repository
-public interface AppointmentRepository extends JpaRepository<Appointment, Long> {
+public interface AppointmentRepository extends JpaRepository<Appointment, Long>, AppointmentBatchInsert {
+
+    // Flat projection: one JOIN, no User/Doctor entities materialized
+    String VIEW_SELECT = "SELECT new com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.AppointmentViewDTO("
+            + "a.id, a.appointmentDate, a.appointmentTime, a.status, "
+            + "d.id, d.name, d.email, d.specialization, "
+            + "u.id, u.name, u.email) "
+            + "FROM Appointment a JOIN a.doctor d JOIN a.user u ";
+
+    String KEY_SELECT = "SELECT new com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.AppointmentKeyDTO("
+            + "a.id, a.doctor.id, a.user.id, a.appointmentDate, a.appointmentTime, a.status) "
+            + "FROM Appointment a ";
+
+    String SEEK_AFTER = "(a.appointmentDate > :date OR (a.appointmentDate = :date AND "
+            + "(a.appointmentTime > :time OR (a.appointmentTime = :time AND a.id > :id))))";
+
+    String SEEK_ORDER = " ORDER BY a.appointmentDate, a.appointmentTime, a.id";
+
+    String CHANGE_SELECT = "SELECT new com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.SequencedAppointmentViewDTO("
+            + "a.changeSeq, a.id, a.appointmentDate, a.appointmentTime, a.status, "
+            + "d.id, d.name, d.email, d.specialization, "
+            + "u.id, u.name, u.email) "
+            + "FROM Appointment a JOIN a.doctor d JOIN a.user u ";
+
+    String CHANGED_AFTER = "(a.changeSeq > :seq OR (a.changeSeq = :seq AND a.id > :id)) AND a.changeSeq <= :upTo";
+
+    String CHANGE_ORDER = " ORDER BY a.changeSeq, a.id";
+
+    @Query(VIEW_SELECT + "WHERE a.id = :id")
+    Optional<AppointmentViewDTO> findViewById(@Param("id") Long id);
 
     // Get appointments for a user
-    List<Appointment> findByUser_Id(Long userId);
+    @Query(VIEW_SELECT + "WHERE u.id = :userId" + SEEK_ORDER)
+    List<AppointmentViewDTO> findViewsByUser(@Param("userId") Long userId);
     
     // Get appointments for a doctor
-    List<Appointment> findByDoctor_Id(Long doctorId);
+    @Query(VIEW_SELECT + "WHERE d.id = :doctorId" + SEEK_ORDER)
+    List<AppointmentViewDTO> findViewsByDoctor(@Param("doctorId") Long doctorId);
+
+    @Query(VIEW_SELECT + SEEK_ORDER)
+    List<AppointmentViewDTO> findAllViews();
+
+    // Row counts for rebuilding the stats counters: [doctorId, userId, status, count]
+    @Query("SELECT a.doctor.id, a.user.id, a.status, COUNT(a) FROM Appointment a "
+            + "GROUP BY a.doctor.id, a.user.id, a.status")
+    List<Object[]> countGroupedByDoctorUserAndStatus();
+
+    // Slots still held from the given day on: [doctorId, date, time]
+    @Query("SELECT a.doctor.id, a.appointmentDate, a.appointmentTime FROM Appointment a "
+            + "WHERE a.appointmentDate >= :from AND a.slotHeld IS NOT NULL")
+    List<Object[]> findHeldSlotsFrom(@Param("from") LocalDate from);
+
+    // ================= STATUS TRANSITIONS =================
+
+    // Single-statement compare-and-set; returns 0 if the row is gone or no longer in 'from'
+    @Transactional
+    @Modifying
+    @Query("UPDATE Appointment a SET a.status = :to, a.slotHeld = :slotHeld, a.version = a.version + 1, "
+            + "a.changeSeq = :changeSeq WHERE a.id = :id AND a.status = :from")
+    int compareAndSetStatus(
+            @Param("id") Long id,
+            @Param("from") AppointmentStatus from,
+            @Param("to") AppointmentStatus to,
+            @Param("slotHeld") Boolean slotHeld,
+            @Param("changeSeq") long changeSeq);
+
+    @Query("SELECT a.status FROM Appointment a WHERE a.id = :id")
+    Optional<AppointmentStatus> findStatusById(@Param("id") Long id);
+
+    // ================= BULK =================
+    // Keys are read with a row lock so the per-id outcomes match what the UPDATE/DELETE does
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(KEY_SELECT + "WHERE a.id IN :ids")
+    List<AppointmentKeyDTO> lockKeysByIds(@Param("ids") Collection<Long> ids);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(KEY_SELECT + "WHERE a.doctor.id = :doctorId AND a.appointmentDate = :date "
+            + "AND (:status IS NULL OR a.status = :status)")
+    List<AppointmentKeyDTO> lockKeysByDoctorAndDate(
+            @Param("doctorId") Long doctorId,
+            @Param("date") LocalDate date,
+            @Param("status") AppointmentStatus status);
+
+    @Modifying
+    @Query("UPDATE Appointment a SET a.status = :to, a.slotHeld = :slotHeld, a.version = a.version + 1, "
+            + "a.changeSeq = :changeSeq WHERE a.id IN :ids AND a.status = :from")
+    int updateStatusBulk(
+            @Param("ids") Collection<Long> ids,
+            @Param("from") AppointmentStatus from,
+            @Param("to") AppointmentStatus to,
+            @Param("slotHeld") Boolean slotHeld,
+            @Param("changeSeq") long changeSeq);
+
+    @Modifying
+    @Query("DELETE FROM Appointment a WHERE a.id IN :ids")
+    int deleteBulk(@Param("ids") Collection<Long> ids);
+
+    // ================= ARCHIVAL =================
+
+    // Oldest first, one batch at a time (idx_appointments_date)
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query(KEY_SELECT + "WHERE a.appointmentDate < :before ORDER BY a.appointmentDate, a.id")
+    List<AppointmentKeyDTO> lockKeysBefore(@Param("before") LocalDate before, Pageable page);
+
+    // ================= KEYSET PAGES =================
+
+    @Query(VIEW_SELECT + SEEK_ORDER)
+    List<AppointmentViewDTO> findFirstPage(Pageable page);
+
+    @Query(VIEW_SELECT + "WHERE " + SEEK_AFTER + SEEK_ORDER)
+    List<AppointmentViewDTO> findPageAfter(
+            @Param("date") LocalDate date,
+            @Param("time") LocalTime time,
+            @Param("id") Long id,
+            Pageable page);
+
+    @Query(VIEW_SELECT + "WHERE u.id = :userId" + SEEK_ORDER)
+    List<AppointmentViewDTO> findFirstPageByUser(@Param("userId") Long userId, Pageable page);
+
+    @Query(VIEW_SELECT + "WHERE u.id = :userId AND " + SEEK_AFTER + SEEK_ORDER)
+    List<AppointmentViewDTO> findPageByUserAfter(
+            @Param("userId") Long userId,
+            @Param("date") LocalDate date,
+            @Param("time") LocalTime time,
+            @Param("id") Long id,
+            Pageable page);
+
+    @Query(VIEW_SELECT + "WHERE d.id = :doctorId" + SEEK_ORDER)
+    List<AppointmentViewDTO> findFirstPageByDoctor(@Param("doctorId") Long doctorId, Pageable page);
+
+    @Query(VIEW_SELECT + "WHERE d.id = :doctorId AND " + SEEK_AFTER + SEEK_ORDER)
+    List<AppointmentViewDTO> findPageByDoctorAfter(
+            @Param("doctorId") Long doctorId,
+            @Param("date") LocalDate date,
+            @Param("time") LocalTime time,
+            @Param("id") Long id,
+            Pageable page);
+
+    // ================= CHANGE FEED =================
+    // Ordered by (changeSeq, id): a bulk change stamps many rows with one sequence
+
+    @Query("SELECT COALESCE(MAX(a.changeSeq), 0) FROM Appointment a")
+    long maxChangeSeq();
+
+    // Everything one write stamped, e.g. a group-committed batch of bookings
+    @Query(CHANGE_SELECT + "WHERE a.changeSeq = :seq")
+    List<SequencedAppointmentViewDTO> findViewsByChangeSeq(@Param("seq") long seq);
+
+    @Query(CHANGE_SELECT + "WHERE " + CHANGED_AFTER + CHANGE_ORDER)
+    List<SequencedAppointmentViewDTO> findChangedAfter(
+            @Param("seq") long seq, @Param("id") long id, @Param("upTo") long upTo, Pageable page);
+
+    @Query(CHANGE_SELECT + "WHERE u.id = :userId AND " + CHANGED_AFTER + CHANGE_ORDER)
+    List<SequencedAppointmentViewDTO> findChangedByUserAfter(
+            @Param("userId") Long userId,
+            @Param("seq") long seq, @Param("id") long id, @Param("upTo") long upTo, Pageable page);
+
+    @Query(CHANGE_SELECT + "WHERE d.id = :doctorId AND " + CHANGED_AFTER + CHANGE_ORDER)
+    List<SequencedAppointmentViewDTO> findChangedByDoctorAfter(
+            @Param("doctorId") Long doctorId,
+            @Param("seq") long seq, @Param("id") long id, @Param("upTo") long upTo, Pageable page);
+
+    // ================= STREAMING =================
+    // Must be consumed inside a transaction. On MySQL add useCursorFetch=true
+    // to DB_URL so the fetch size is honoured instead of buffering the result.
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(VIEW_SELECT + SEEK_ORDER)
+    Stream<AppointmentViewDTO> streamAll();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(VIEW_SELECT + "WHERE u.id = :userId" + SEEK_ORDER)
+    Stream<AppointmentViewDTO> streamByUser(@Param("userId") Long userId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(VIEW_SELECT + "WHERE d.id = :doctorId" + SEEK_ORDER)
+    Stream<AppointmentViewDTO> streamByDoctor(@Param("doctorId") Long doctorId);
 }
@@ -0,0 +1,60 @@
+package com.doctorappointmentbackend.doctorappointmentbackendlogic.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.model.AppointmentTombstone;
+
+@Repository
+public interface AppointmentTombstoneRepository extends JpaRepository<AppointmentTombstone, Long> {
+
+    String CHANGED_AFTER = "(t.changeSeq > :seq OR (t.changeSeq = :seq AND t.appointmentId > :id)) "
+            + "AND t.changeSeq <= :upTo";
+
+    String CHANGE_ORDER = " ORDER BY t.changeSeq, t.appointmentId";
+
+    @Query("SELECT COALESCE(MAX(t.changeSeq), 0) FROM AppointmentTombstone t")
+    long maxChangeSeq();
+
+    // ================= CHANGE FEED =================
+
+    @Query("SELECT t FROM AppointmentTombstone t WHERE " + CHANGED_AFTER + CHANGE_ORDER)
+    List<AppointmentTombstone> findChangedAfter(
+            @Param("seq") long seq, @Param("id") long id, @Param("upTo") long upTo, Pageable page);
+
+    @Query("SELECT t FROM AppointmentTombstone t WHERE t.userId = :userId AND " + CHANGED_AFTER + CHANGE_ORDER)
+    List<AppointmentTombstone> findChangedByUserAfter(
+            @Param("userId") Long userId,
+            @Param("seq") long seq, @Param("id") long id, @Param("upTo") long upTo, Pageable page);
+
+    @Query("SELECT t FROM AppointmentTombstone t WHERE t.doctorId = :doctorId AND " + CHANGED_AFTER + CHANGE_ORDER)
+    List<AppointmentTombstone> findChangedByDoctorAfter(
+            @Param("doctorId") Long doctorId,
+            @Param("seq") long seq, @Param("id") long id, @Param("upTo") long upTo, Pageable page);
+
+    // ================= RETENTION =================
+
+    // change_seq follows deleted_at closely, so this walks idx_tombstones_change_seq from the oldest
+    @Query("SELECT t.changeSeq FROM AppointmentTombstone t WHERE t.deletedAt < :cutoff ORDER BY t.changeSeq")
+    List<Long> findSeqsDeletedBefore(@Param("cutoff") LocalDateTime cutoff, Pageable page);
+
+    // Whole sequences only: a bulk delete's tombstones share one change_seq
+    @Modifying
+    @Query("DELETE FROM AppointmentTombstone t WHERE t.changeSeq <= :upTo")
+    int deleteUpTo(@Param("upTo") long upTo);
+
+    @Query(value = "SELECT purged_up_to FROM change_feed_horizon WHERE id = 1", nativeQuery = true)
+    long purgedUpTo();
+
+    @Modifying
+    @Query(value = "UPDATE change_feed_horizon SET purged_up_to = GREATEST(purged_up_to, :upTo) WHERE id = 1",
+            nativeQuery = true)
+    int raisePurgedUpTo(@Param("upTo") long upTo);
+}
@@ -0,0 +1,81 @@
+package com.doctorappointmentbackend.doctorappointmentbackendlogic.repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.AppointmentViewDTO;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.model.ArchivedAppointment;
+
+@Repository
+public interface ArchivedAppointmentRepository extends JpaRepository<ArchivedAppointment, Long> {
+
+    // Same flat projection as AppointmentRepository.VIEW_SELECT, over the cold table
+    String VIEW_SELECT = "SELECT new com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.AppointmentViewDTO("
+            + "a.id, a.appointmentDate, a.appointmentTime, a.status, "
+            + "d.id, d.name, d.email, d.specialization, "
+            + "u.id, u.name, u.email) "
+            + "FROM ArchivedAppointment a JOIN a.doctor d JOIN a.user u ";
+
+    // History reads newest first, so pages seek backwards from the cursor
+    String SEEK_BEFORE = "(a.appointmentDate < :date OR (a.appointmentDate = :date AND "
+            + "(a.appointmentTime < :time OR (a.appointmentTime = :time AND a.id < :id))))";
+
+    String SEEK_ORDER = " ORDER BY a.appointmentDate DESC, a.appointmentTime DESC, a.id DESC";
+
+    // Copies hot rows as they are; the caller deletes them in the same transaction
+    @Modifying
+    @Query(value = "INSERT INTO appointments_archive "
+            + "(id, user_id, doctor_id, appointment_date, appointment_time, status, version, archived_at) "
+            + "SELECT id, user_id, doctor_id, appointment_date, appointment_time, status, version, :archivedAt "
+            + "FROM appointments WHERE id IN (:ids)", nativeQuery = true)
+    int copyFromHot(@Param("ids") Collection<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+
+    // Archived rows still count towards the stats: [doctorId, userId, status, count]
+    @Query("SELECT a.doctor.id, a.user.id, a.status, COUNT(a) FROM ArchivedAppointment a "
+            + "GROUP BY a.doctor.id, a.user.id, a.status")
+    List<Object[]> countGroupedByDoctorUserAndStatus();
+
+    // ================= HISTORY PAGES =================
+
+    @Query(VIEW_SELECT + SEEK_ORDER)
+    List<AppointmentViewDTO> findFirstPage(Pageable page);
+
+    @Query(VIEW_SELECT + "WHERE " + SEEK_BEFORE + SEEK_ORDER)
+    List<AppointmentViewDTO> findPageBefore(
+            @Param("date") LocalDate date,
+            @Param("time") LocalTime time,
+            @Param("id") Long id,
+            Pageable page);
+
+    @Query(VIEW_SELECT + "WHERE u.id = :userId" + SEEK_ORDER)
+    List<AppointmentViewDTO> findFirstPageByUser(@Param("userId") Long userId, Pageable page);
+
+    @Query(VIEW_SELECT + "WHERE u.id = :userId AND " + SEEK_BEFORE + SEEK_ORDER)
+    List<AppointmentViewDTO> findPageByUserBefore(
+            @Param("userId") Long userId,
+            @Param("date") LocalDate date,
+            @Param("time") LocalTime time,
+            @Param("id") Long id,
+            Pageable page);
+
+    @Query(VIEW_SELECT + "WHERE d.id = :doctorId" + SEEK_ORDER)
+    List<AppointmentViewDTO> findFirstPageByDoctor(@Param("doctorId") Long doctorId, Pageable page);
+
+    @Query(VIEW_SELECT + "WHERE d.id = :doctorId AND " + SEEK_BEFORE + SEEK_ORDER)
+    List<AppointmentViewDTO> findPageByDoctorBefore(
+            @Param("doctorId") Long doctorId,
+            @Param("date") LocalDate date,
+            @Param("time") LocalTime time,
+            @Param("id") Long id,
+            Pageable page);
+}
@@ -1,10 +1,20 @@
 package com.doctorappointmentbackend.doctorappointmentbackendlogic.repository;
 
 import com.doctorappointmentbackend.doctorappointmentbackendlogic.model.Doctor;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface DoctorRepository extends JpaRepository<Doctor, Long> {
     Optional<Doctor> findByEmail(String email);
+
+    // Seed for the in-memory email index: [id, email]
+    @Query("SELECT d.id, d.email FROM Doctor d")
+    List<Object[]> findAllIdsAndEmails();
+
+    // Keyset page: rows after the given id
+    List<Doctor> findByIdGreaterThanOrderByIdAsc(Long id, Pageable page);
 }
@@ -1,10 +1,27 @@
 package com.doctorappointmentbackend.doctorappointmentbackendlogic.repository;
 
 import com.doctorappointmentbackend.doctorappointmentbackendlogic.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
+
+    // Keyset page: rows after the given id
+    List<User> findByIdGreaterThanOrderByIdAsc(Long id, Pageable page);
+
+    // Swap the stored password only if nobody changed it in the meantime
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.password = :newPassword WHERE u.id = :id AND u.password = :oldPassword")
+    int replacePassword(@Param("id") Long id,
+                        @Param("oldPassword") String oldPassword,
+                        @Param("newPassword") String newPassword);
 }
@@ -0,0 +1,5 @@
+package com.doctorappointmentbackend.doctorappointmentbackendlogic.security;
+
+// Principal rebuilt from verified JWT claims; no database lookup involved
+public record AuthenticatedUser(Long userId, String email, String role, long expiresAtMillis) {
+}
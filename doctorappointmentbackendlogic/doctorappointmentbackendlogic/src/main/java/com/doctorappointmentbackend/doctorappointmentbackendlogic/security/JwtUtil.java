@@ -1,23 +1,64 @@
 package com.doctorappointmentbackend.doctorappointmentbackendlogic.security;
 
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
-import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
 import java.security.Key;
 import java.util.Date;
 
+/**
+ * Issues and verifies HS256 tokens with a key taken from configuration, so
+ * tokens survive restarts and verify on any node sharing the secret.
+ */
+@Component
 public class JwtUtil {
 
-    private static final Key key = Keys.secretKeyFor(SignatureAlgorithm.HS256);
-    private static final long EXPIRATION_TIME = 1000 * 60 * 60; // 1 hour
+    private final Key key;
+    private final JwtParser parser;
+    private final long expirationMillis;
+
+    public JwtUtil(@Value("${security.jwt.secret}") String secret,
+                   @Value("${security.jwt.expiration-minutes:60}") long expirationMinutes) {
+        this.key = signingKey(secret);
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
+        this.expirationMillis = expirationMinutes * 60 * 1000;
+    }
 
-    public static String generateToken(String email) {
+    // Fails startup with a message naming JWT_SECRET rather than a placeholder or key-size error
+    private static Key signingKey(String secret) {
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalStateException("JWT_SECRET is not set: export a base64 key of at least 256 bits "
+                    + "(e.g. openssl rand -base64 32), the same on every node");
+        }
+        try {
+            // hmacShaKeyFor rejects keys shorter than 256 bits
+            return Keys.hmacShaKeyFor(Decoders.BASE64.decode(secret.trim()));
+        } catch (RuntimeException ex) {
+            throw new IllegalStateException("JWT_SECRET must be base64 and at least 256 bits (32 bytes) once "
+                    + "decoded, e.g. openssl rand -base64 32", ex);
+        }
+    }
+
+    public String generateToken(Long userId, String email, String role) {
+        long now = System.currentTimeMillis();
         return Jwts.builder()
-                .setSubject(email)
-                .setIssuedAt(new Date())
-                .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
+                .setSubject(String.valueOf(userId))
+                .claim("email", email)
+                .claim("role", role)
+                .setIssuedAt(new Date(now))
+                .setExpiration(new Date(now + expirationMillis))
                 .signWith(key)
                 .compact();
     }
+
+    // Throws io.jsonwebtoken.JwtException if the signature or expiry is bad
+    public Claims verify(String token) {
+        return parser.parseClaimsJws(token).getBody();
+    }
 }
@@ -0,0 +1,44 @@
+package com.doctorappointmentbackend.doctorappointmentbackendlogic.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Picks the highest bcrypt cost whose hash time fits a latency budget on the
+ * current hardware.
+ *
+ * Only the floor cost is measured; each extra cost step doubles the work, so
+ * higher costs are extrapolated instead of timed.
+ */
+public final class PasswordCostCalibrator {
+
+    private static final Logger log = LoggerFactory.getLogger(PasswordCostCalibrator.class);
+
+    private static final int SAMPLES = 3;
+
+    private PasswordCostCalibrator() {
+    }
+
+    public static int calibrate(long targetMillis, int minCost, int maxCost) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(minCost);
+        probe.encode("warm-up");
+
+        long start = System.nanoTime();
+        for (int i = 0; i < SAMPLES; i++) {
+            probe.encode("calibration-" + i);
+        }
+        double floorMillis = (System.nanoTime() - start) / 1_000_000.0 / SAMPLES;
+
+        int cost = minCost;
+        double predicted = floorMillis;
+        while (cost < maxCost && predicted * 2 <= targetMillis) {
+            cost++;
+            predicted *= 2;
+        }
+
+        log.info("bcrypt cost {} selected (~{} ms per hash, budget {} ms)",
+                cost, Math.round(predicted), targetMillis);
+        return cost;
+    }
+}
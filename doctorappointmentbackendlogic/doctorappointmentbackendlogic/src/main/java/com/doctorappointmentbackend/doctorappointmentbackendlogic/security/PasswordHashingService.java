@@ -0,0 +1,125 @@
+package com.doctorappointmentbackend.doctorappointmentbackendlogic.security;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.exception.ServiceBusyException;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Runs bcrypt hashing and verification on a dedicated, bounded pool.
+ *
+ * Request threads hand the CPU-heavy work off and are released while it runs
+ * (controllers return the CompletableFuture). When the queue is full the
+ * work is refused immediately with {@link ServiceBusyException} (503) instead
+ * of piling up behind a login burst.
+ */
+@Component
+public class PasswordHashingService {
+
+    private static final Pattern BCRYPT = Pattern.compile("^\\$2[aby]?\\$\\d\\d\\$[./A-Za-z0-9]{53}$");
+
+    private final PasswordEncoder encoder;
+    private final ThreadPoolExecutor executor;
+    // Made with the calibrated cost, so checking against it takes as long as a real login
+    private final String dummyHash;
+
+    public PasswordHashingService(
+            PasswordEncoder encoder,
+            @Value("${security.password.hash-threads:0}") int threads,
+            @Value("${security.password.queue-capacity:64}") int queueCapacity
+    ) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+
+        this.encoder = encoder;
+        this.dummyHash = encoder.encode("dummy-" + System.nanoTime());
+        this.executor = new ThreadPoolExecutor(
+                poolSize, poolSize,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    public CompletableFuture<String> hash(String rawPassword) {
+        return submit(() -> encoder.encode(rawPassword));
+    }
+
+    /**
+     * Verifies a password against what is stored. Rows written before hashing
+     * was introduced hold plaintext; those are compared in constant time and
+     * reported through {@link #needsRehash(String)}.
+     */
+    public CompletableFuture<Boolean> matches(String rawPassword, String stored) {
+        if (stored == null || rawPassword == null) {
+            return CompletableFuture.completedFuture(false);
+        }
+        if (!isHashed(stored)) {
+            return CompletableFuture.completedFuture(MessageDigest.isEqual(
+                    rawPassword.getBytes(StandardCharsets.UTF_8),
+                    stored.getBytes(StandardCharsets.UTF_8)));
+        }
+        return submit(() -> encoder.matches(rawPassword, stored));
+    }
+
+    /**
+     * Costs the same as {@link #matches(String, String)} against a real hash
+     * but never matches. Used for unknown accounts, so response time does not
+     * tell which emails are registered.
+     */
+    public CompletableFuture<Boolean> matchesNothing(String rawPassword) {
+        if (rawPassword == null) {
+            return CompletableFuture.completedFuture(false);
+        }
+        return submit(() -> {
+            encoder.matches(rawPassword, dummyHash);
+            return false;
+        });
+    }
+
+    // Plaintext legacy rows, or hashes made with a lower cost than the calibrated one
+    public boolean needsRehash(String stored) {
+        return !isHashed(stored) || encoder.upgradeEncoding(stored);
+    }
+
+    public int queueDepth() {
+        return executor.getQueue().size();
+    }
+
+    private static boolean isHashed(String stored) {
+        return BCRYPT.matcher(stored).matches();
+    }
+
+    private <T> CompletableFuture<T> submit(Supplier<T> work) {
+        try {
+            return CompletableFuture.supplyAsync(work, executor);
+        } catch (RejectedExecutionException ex) {
+            return CompletableFuture.failedFuture(
+                    new ServiceBusyException("Too many concurrent logins, please retry shortly"));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+}
@@ -3,28 +3,70 @@ package com.doctorappointmentbackend.doctorappointmentbackendlogic.service;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.List;
+import java.util.function.Consumer;
 
-import com.doctorappointmentbackend.doctorappointmentbackendlogic.model.Appointment;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.AppointmentChangesDTO;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.AppointmentStatsDTO;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.AppointmentViewDTO;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.BookingTicketDTO;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.BulkAppointmentRequestDTO;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.BulkOutcomeDTO;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.CursorPageDTO;
 
 public interface AppointmentService {
 
-    Appointment bookAppointment(
+    AppointmentViewDTO bookAppointment(
             Long userId,
             Long doctorId,
             LocalDate date,
             LocalTime time
     );
 
-    List<Appointment> getAppointmentsByUser(Long userId);
+    // WRITE-BEHIND: slot claimed now, row written by the next group commit
+    BookingTicketDTO enqueueBooking(Long userId, Long doctorId, LocalDate date, LocalTime time);
+
+    BookingTicketDTO getBookingTicket(String ticket);
+
+    List<AppointmentViewDTO> getAppointmentsByUser(Long userId);
     
-    List<Appointment> getAppointmentsByDoctor(Long doctorId);
+    List<AppointmentViewDTO> getAppointmentsByDoctor(Long doctorId);
+
+    List<AppointmentViewDTO> getAllAppointments();
+
+    // KEYSET PAGES ordered by (date, time, id)
+    CursorPageDTO<AppointmentViewDTO> getAppointmentsPage(String cursor, Integer limit);
 
-    List<Appointment> getAllAppointments();
+    CursorPageDTO<AppointmentViewDTO> getAppointmentsByUserPage(Long userId, String cursor, Integer limit);
 
-    Appointment approve(Long appointmentId);
+    CursorPageDTO<AppointmentViewDTO> getAppointmentsByDoctorPage(Long doctorId, String cursor, Integer limit);
 
-    Appointment reject(Long appointmentId);
+    // STREAM every matching row to the sink without building a list (filters are optional)
+    void streamAppointments(Long userId, Long doctorId, Consumer<AppointmentViewDTO> sink);
+
+    AppointmentViewDTO approve(Long appointmentId);
+
+    AppointmentViewDTO reject(Long appointmentId);
 
     // ✅ ADD THIS
     void deleteAppointment(Long appointmentId);
+
+    // BULK: one set-based statement per chunk, one outcome per appointment
+    List<BulkOutcomeDTO> approveBulk(BulkAppointmentRequestDTO request);
+
+    List<BulkOutcomeDTO> rejectBulk(BulkAppointmentRequestDTO request);
+
+    List<BulkOutcomeDTO> deleteBulk(BulkAppointmentRequestDTO request);
+
+    // CHANGE FEED: rows inserted, changed or deleted after the cursor (filters are optional)
+    AppointmentChangesDTO getChanges(String since, Long userId, Long doctorId, Integer limit);
+
+    // HISTORY: archived (past-horizon) appointments, newest first; the reads above only see the hot table
+    CursorPageDTO<AppointmentViewDTO> getHistory(Long userId, Long doctorId, String cursor, Integer limit);
+
+    // STATS (served from in-memory counters)
+    AppointmentStatsDTO getStats();
+
+    AppointmentStatsDTO getStatsByDoctor(Long doctorId);
+
+    AppointmentStatsDTO getStatsByUser(Long userId);
 }
@@ -1,8 +1,12 @@
 package com.doctorappointmentbackend.doctorappointmentbackendlogic.service;
 
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.CursorPageDTO;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.DayAvailabilityDTO;
 import com.doctorappointmentbackend.doctorappointmentbackendlogic.model.Doctor;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 public interface DoctorService {
 
@@ -10,8 +14,20 @@ public interface DoctorService {
 
     List<Doctor> getAllDoctors();
 
+    CursorPageDTO<Doctor> getDoctorsPage(String cursor, Integer limit);
+
     Doctor getDoctorById(Long id);
 
+    // Served from the in-memory search index, id-ordered with an id cursor
+    CursorPageDTO<Doctor> searchDoctors(String specialization, String query, String cursor, Integer limit);
+
+    List<String> getSpecializations();
+
+    Optional<Doctor> findDoctorByEmail(String email);
+
+    // Free slots per day, computed from the in-memory slot index
+    List<DayAvailabilityDTO> getAvailability(Long doctorId, LocalDate from, LocalDate to);
+
     Doctor updateDoctor(Long id, Doctor doctor);
 
     void deleteDoctor(Long id);
@@ -1,24 +1,29 @@
 package com.doctorappointmentbackend.doctorappointmentbackendlogic.service;
 
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.CursorPageDTO;
 import com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.LoginResponseDTO;
 import com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.UserRequestDTO;
 import com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.UserResponseDTO;
 import com.doctorappointmentbackend.doctorappointmentbackendlogic.model.User;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 public interface UserService {
 
-    // REGISTER
-    UserResponseDTO saveUser(UserRequestDTO dto);
+    // REGISTER (password is hashed on the bounded hashing pool)
+    CompletableFuture<UserResponseDTO> saveUser(UserRequestDTO dto);
 
-    // LOGIN
-    LoginResponseDTO login(String email, String password);
+    // LOGIN (bcrypt verification runs on the bounded hashing pool)
+    CompletableFuture<LoginResponseDTO> login(String email, String password);
 
     // GET USER BY EMAIL (REQUIRED FOR LOGIN / APPOINTMENTS)
     User getUserByEmail(String email);
     
     // ADMIN: GET ALL USERS
     List<UserResponseDTO> getAllUsers();
+
+    // ADMIN: KEYSET PAGE OF USERS (cursor = last id)
+    CursorPageDTO<UserResponseDTO> getUsersPage(String cursor, Integer limit);
     
     // ADMIN: DELETE USER
     void deleteUser(Long userId);
@@ -2,84 +2,631 @@ package com.doctorappointmentbackend.doctorappointmentbackendlogic.serviceimpl;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.booking.BookingWriter;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.datasource.ReadRouting;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.AppointmentChangesDTO;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.AppointmentEventDTO;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.AppointmentKeyDTO;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.AppointmentStatsDTO;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.AppointmentViewDTO;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.BookingTicketDTO;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.BulkAppointmentRequestDTO;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.BulkOutcomeDTO;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.CursorPageDTO;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.SequencedAppointmentViewDTO;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.etag.ResourceVersions;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.events.AppointmentEventBus;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.exception.AppointmentConflictException;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.exception.BadRequestException;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.exception.ConflictException;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.exception.NotFoundException;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.exception.ResyncRequiredException;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.index.DoctorSearchIndex;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.index.SlotOccupancyIndex;
 import com.doctorappointmentbackend.doctorappointmentbackendlogic.model.Appointment;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.model.AppointmentStatus;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.model.AppointmentTombstone;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.pagination.KeysetCursors;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.pagination.KeysetCursors.AppointmentKey;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.pagination.KeysetCursors.ChangeKey;
 import com.doctorappointmentbackend.doctorappointmentbackendlogic.repository.AppointmentRepository;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.repository.AppointmentTombstoneRepository;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.repository.ArchivedAppointmentRepository;
 import com.doctorappointmentbackend.doctorappointmentbackendlogic.repository.DoctorRepository;
 import com.doctorappointmentbackend.doctorappointmentbackendlogic.repository.UserRepository;
 import com.doctorappointmentbackend.doctorappointmentbackendlogic.service.AppointmentService;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.stats.AppointmentStatsCounters;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.sync.ChangeSequence;
 
 @Service
 public class AppointmentServiceImpl implements AppointmentService {
 
+    private static final ConflictException SLOT_TAKEN = new ConflictException("This time slot is already booked");
+
+    // Ids per IN (...) list, and the most a single bulk request may touch
+    private static final int BULK_CHUNK = 500;
+    private static final int BULK_MAX = 5000;
+
     private final AppointmentRepository appointmentRepo;
+    private final AppointmentTombstoneRepository tombstoneRepo;
+    private final ArchivedAppointmentRepository archiveRepo;
     private final UserRepository userRepo;
     private final DoctorRepository doctorRepo;
+    private final AppointmentStatsCounters statsCounters;
+    private final SlotOccupancyIndex slotIndex;
+    private final DoctorSearchIndex doctorIndex;
+    private final BookingWriter bookingWriter;
+    private final ResourceVersions versions;
+    private final AppointmentEventBus eventBus;
+    private final ChangeSequence changeSequence;
+    private final TransactionTemplate transactionTemplate;
+    private final ReadRouting readRouting;
 
     public AppointmentServiceImpl(
             AppointmentRepository appointmentRepo,
+            AppointmentTombstoneRepository tombstoneRepo,
+            ArchivedAppointmentRepository archiveRepo,
             UserRepository userRepo,
-            DoctorRepository doctorRepo
+            DoctorRepository doctorRepo,
+            AppointmentStatsCounters statsCounters,
+            SlotOccupancyIndex slotIndex,
+            DoctorSearchIndex doctorIndex,
+            BookingWriter bookingWriter,
+            ResourceVersions versions,
+            AppointmentEventBus eventBus,
+            ChangeSequence changeSequence,
+            TransactionTemplate transactionTemplate,
+            ReadRouting readRouting
     ) {
         this.appointmentRepo = appointmentRepo;
+        this.tombstoneRepo = tombstoneRepo;
+        this.archiveRepo = archiveRepo;
         this.userRepo = userRepo;
         this.doctorRepo = doctorRepo;
+        this.statsCounters = statsCounters;
+        this.slotIndex = slotIndex;
+        this.doctorIndex = doctorIndex;
+        this.bookingWriter = bookingWriter;
+        this.versions = versions;
+        this.eventBus = eventBus;
+        this.changeSequence = changeSequence;
+        this.transactionTemplate = transactionTemplate;
+        this.readRouting = readRouting;
     }
 
     @Override
-    public Appointment bookAppointment(
+    public AppointmentViewDTO bookAppointment(
             Long userId,
             Long doctorId,
             LocalDate date,
             LocalTime time
     ) {
-        Appointment appointment = new Appointment();
-        appointment.setUser(userRepo.findById(userId).orElseThrow());
-        appointment.setDoctor(doctorRepo.findById(doctorId).orElseThrow());
-        appointment.setAppointmentDate(date);
-        appointment.setAppointmentTime(time);
-        appointment.setStatus("PENDING");
+        requireBookingFields(userId, doctorId, date, time);
+        // Claim the slot in memory first so competing requests lose without touching the DB
+        if (!slotIndex.tryReserve(doctorId, date, time)) {
+            throw SLOT_TAKEN;
+        }
+
+        Appointment saved;
+        long changeSeq = changeSequence.next();
+        try {
+            Appointment appointment = new Appointment();
+            appointment.setUser(userRepo.findById(userId)
+                    .orElseThrow(() -> new NotFoundException("User not found with id: " + userId)));
+            appointment.setDoctor(doctorRepo.findById(doctorId)
+                    .orElseThrow(() -> new NotFoundException("Doctor not found with id: " + doctorId)));
+            appointment.setAppointmentDate(date);
+            appointment.setAppointmentTime(time);
+            appointment.setStatus(AppointmentStatus.PENDING);
+            appointment.setSlotHeld(Boolean.TRUE);
+            appointment.setChangeSeq(changeSeq);
 
-        return appointmentRepo.save(appointment);
+            saved = appointmentRepo.save(appointment);
+        } catch (DataIntegrityViolationException ex) {
+            // The unique slot constraint fired: the slot really is held, keep the bit set
+            throw SLOT_TAKEN;
+        } catch (RuntimeException ex) {
+            slotIndex.release(doctorId, date, time);
+            throw ex;
+        } finally {
+            changeSequence.done(changeSeq);
+        }
+
+        statsCounters.onBooked(doctorId, userId, saved.getStatus());
+        versions.appointmentChanged(doctorId, userId);
+        AppointmentViewDTO view = AppointmentViewDTO.from(saved);
+        eventBus.publish(AppointmentEventDTO.booked(view));
+        return view;
     }
 
+    // The doctor is checked against the in-memory directory and the user with one
+    // primary-key lookup, so a ticket is only handed out for a booking that can succeed
     @Override
-    public List<Appointment> getAppointmentsByUser(Long userId) {
-        return appointmentRepo.findByUser_Id(userId);
+    public BookingTicketDTO enqueueBooking(Long userId, Long doctorId, LocalDate date, LocalTime time) {
+        requireBookingFields(userId, doctorId, date, time);
+        if (!doctorIndex.contains(doctorId)) {
+            throw new NotFoundException("Doctor not found with id: " + doctorId);
+        }
+        if (!userRepo.existsById(userId)) {
+            throw new NotFoundException("User not found with id: " + userId);
+        }
+        if (!slotIndex.tryReserve(doctorId, date, time)) {
+            throw SLOT_TAKEN;
+        }
+        try {
+            return bookingWriter.submit(userId, doctorId, date, time);
+        } catch (RuntimeException ex) {
+            slotIndex.release(doctorId, date, time);
+            throw ex;
+        }
+    }
+
+    // Before the slot bitmap or a repository sees a null
+    private static void requireBookingFields(Long userId, Long doctorId, LocalDate date, LocalTime time) {
+        if (userId == null || doctorId == null || date == null || time == null) {
+            throw new BadRequestException("userId, doctorId, date and time are required");
+        }
+    }
+
+    @Override
+    public BookingTicketDTO getBookingTicket(String ticket) {
+        BookingTicketDTO found = bookingWriter.ticket(ticket);
+        if (found == null) {
+            throw new NotFoundException("Booking ticket not found or expired: " + ticket);
+        }
+        return found;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AppointmentViewDTO> getAppointmentsByUser(Long userId) {
+        return appointmentRepo.findViewsByUser(userId);
     }
     
     @Override
-    public List<Appointment> getAppointmentsByDoctor(Long doctorId) {
-        return appointmentRepo.findByDoctor_Id(doctorId);
+    @Transactional(readOnly = true)
+    public List<AppointmentViewDTO> getAppointmentsByDoctor(Long doctorId) {
+        return appointmentRepo.findViewsByDoctor(doctorId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<AppointmentViewDTO> getAllAppointments() {
+        return appointmentRepo.findAllViews();
+    }
+
+    // ================= KEYSET PAGES =================
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<AppointmentViewDTO> getAppointmentsPage(String cursor, Integer limit) {
+        int size = KeysetCursors.clampLimit(limit);
+        List<AppointmentViewDTO> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = appointmentRepo.findFirstPage(KeysetCursors.probe(size));
+        } else {
+            AppointmentKey key = KeysetCursors.decodeAppointment(cursor);
+            rows = appointmentRepo.findPageAfter(
+                    key.date(), key.time(), key.id(), KeysetCursors.probe(size));
+        }
+        return KeysetCursors.page(rows, size, KeysetCursors::encode, Function.identity());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<AppointmentViewDTO> getAppointmentsByUserPage(Long userId, String cursor, Integer limit) {
+        int size = KeysetCursors.clampLimit(limit);
+        List<AppointmentViewDTO> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = appointmentRepo.findFirstPageByUser(userId, KeysetCursors.probe(size));
+        } else {
+            AppointmentKey key = KeysetCursors.decodeAppointment(cursor);
+            rows = appointmentRepo.findPageByUserAfter(
+                    userId, key.date(), key.time(), key.id(), KeysetCursors.probe(size));
+        }
+        return KeysetCursors.page(rows, size, KeysetCursors::encode, Function.identity());
     }
 
     @Override
-    public List<Appointment> getAllAppointments() {
-        return appointmentRepo.findAll();
+    @Transactional(readOnly = true)
+    public CursorPageDTO<AppointmentViewDTO> getAppointmentsByDoctorPage(Long doctorId, String cursor, Integer limit) {
+        int size = KeysetCursors.clampLimit(limit);
+        List<AppointmentViewDTO> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = appointmentRepo.findFirstPageByDoctor(doctorId, KeysetCursors.probe(size));
+        } else {
+            AppointmentKey key = KeysetCursors.decodeAppointment(cursor);
+            rows = appointmentRepo.findPageByDoctorAfter(
+                    doctorId, key.date(), key.time(), key.id(), KeysetCursors.probe(size));
+        }
+        return KeysetCursors.page(rows, size, KeysetCursors::encode, Function.identity());
     }
 
+    // ================= STREAMING =================
     @Override
-    public Appointment approve(Long appointmentId) {
-        Appointment appointment =
-                appointmentRepo.findById(appointmentId).orElseThrow();
-        appointment.setStatus("APPROVED");
-        return appointmentRepo.save(appointment);
+    @Transactional(readOnly = true)
+    public void streamAppointments(Long userId, Long doctorId, Consumer<AppointmentViewDTO> sink) {
+        // Projections are not managed entities, so the persistence context stays empty
+        try (Stream<AppointmentViewDTO> rows = openStream(userId, doctorId)) {
+            rows.forEach(sink);
+        }
+    }
+
+    private Stream<AppointmentViewDTO> openStream(Long userId, Long doctorId) {
+        if (userId != null) {
+            return appointmentRepo.streamByUser(userId);
+        }
+        if (doctorId != null) {
+            return appointmentRepo.streamByDoctor(doctorId);
+        }
+        return appointmentRepo.streamAll();
+    }
+
+    @Override
+    public AppointmentViewDTO approve(Long appointmentId) {
+        return changeStatus(appointmentId, AppointmentStatus.APPROVED);
     }
 
     @Override
-    public Appointment reject(Long appointmentId) {
-        Appointment appointment =
-                appointmentRepo.findById(appointmentId).orElseThrow();
-        appointment.setStatus("REJECTED");
-        return appointmentRepo.save(appointment);
+    public AppointmentViewDTO reject(Long appointmentId) {
+        return changeStatus(appointmentId, AppointmentStatus.REJECTED);
+    }
+
+    // One conditional UPDATE; the entity is never loaded into the persistence context
+    private AppointmentViewDTO changeStatus(Long appointmentId, AppointmentStatus status) {
+        // PENDING is the only state with outgoing transitions
+        AppointmentStatus from = AppointmentStatus.PENDING;
+
+        // Read before the UPDATE: once it commits, a concurrent delete could leave nothing to
+        // read, and the counters, slot index and event would miss a transition that happened.
+        // Doctor, user, date and time never change after booking, so this copy stays accurate
+        AppointmentViewDTO before = appointmentRepo.findViewById(appointmentId)
+                .orElseThrow(() -> new NotFoundException("Appointment not found with id: " + appointmentId));
+
+        int updated;
+        long changeSeq = changeSequence.next();
+        try {
+            updated = appointmentRepo.compareAndSetStatus(
+                    appointmentId, from, status, status.holdsSlot() ? Boolean.TRUE : null, changeSeq);
+        } finally {
+            changeSequence.done(changeSeq);
+        }
+        if (updated == 0) {
+            AppointmentStatus current = appointmentRepo.findStatusById(appointmentId)
+                    .orElseThrow(() -> new NotFoundException("Appointment not found with id: " + appointmentId));
+            throw new AppointmentConflictException(
+                    "Appointment " + appointmentId + " is already " + current + " and cannot be " + status);
+        }
+
+        AppointmentViewDTO view = before.withStatus(status);
+        if (!status.holdsSlot()) {
+            slotIndex.release(view.getDoctorId(), view.getAppointmentDate(), view.getAppointmentTime());
+        }
+        statsCounters.onStatusChanged(view.getDoctorId(), view.getUserId(), from, status);
+        versions.appointmentChanged(view.getDoctorId(), view.getUserId());
+        eventBus.publish(AppointmentEventDTO.statusChanged(view));
+        return view;
     }
 
     // ✅ DELETE IMPLEMENTATION
     @Override
     public void deleteAppointment(Long appointmentId) {
-        appointmentRepo.deleteById(appointmentId);
+        // deleteById loads the row anyway; loading it here keeps what the counters need.
+        // The tombstone commits with the delete so the change feed cannot miss it
+        Appointment appointment;
+        long changeSeq = changeSequence.next();
+        try {
+            appointment = transactionTemplate.execute(tx -> appointmentRepo.findById(appointmentId)
+                    .map(found -> {
+                        appointmentRepo.delete(found);
+                        tombstoneRepo.save(new AppointmentTombstone(found.getId(),
+                                found.getUser().getId(), found.getDoctor().getId(), changeSeq));
+                        return found;
+                    })
+                    .orElse(null));
+        } finally {
+            changeSequence.done(changeSeq);
+        }
+
+        if (appointment != null) {
+            if (appointment.getStatus().holdsSlot()) {
+                slotIndex.release(
+                        appointment.getDoctor().getId(),
+                        appointment.getAppointmentDate(),
+                        appointment.getAppointmentTime());
+            }
+            statsCounters.onDeleted(
+                    appointment.getDoctor().getId(),
+                    appointment.getUser().getId(),
+                    appointment.getStatus());
+            versions.appointmentChanged(appointment.getDoctor().getId(), appointment.getUser().getId());
+            eventBus.publish(AppointmentEventDTO.deleted(
+                    appointment.getId(), appointment.getDoctor().getId(), appointment.getUser().getId()));
+        }
+    }
+
+    // ================= BULK =================
+    @Override
+    public List<BulkOutcomeDTO> approveBulk(BulkAppointmentRequestDTO request) {
+        return transitionBulk(request, AppointmentStatus.APPROVED);
+    }
+
+    @Override
+    public List<BulkOutcomeDTO> rejectBulk(BulkAppointmentRequestDTO request) {
+        return transitionBulk(request, AppointmentStatus.REJECTED);
+    }
+
+    // Only PENDING appointments move; anything else is reported as SKIPPED
+    private List<BulkOutcomeDTO> transitionBulk(BulkAppointmentRequestDTO request, AppointmentStatus status) {
+        Boolean slotHeld = status.holdsSlot() ? Boolean.TRUE : null;
+        List<AppointmentKeyDTO> changed = new ArrayList<>();
+
+        // One sequence for the whole batch; the feed breaks ties by id
+        List<BulkOutcomeDTO> outcomes;
+        long changeSeq = changeSequence.next();
+        try {
+            outcomes = transactionTemplate.execute(tx -> {
+                List<AppointmentKeyDTO> keys = lockKeys(request, AppointmentStatus.PENDING);
+                for (AppointmentKeyDTO key : keys) {
+                    if (key.getStatus().canTransitionTo(status)) {
+                        changed.add(key);
+                    }
+                }
+
+                List<Long> ids = changed.stream().map(AppointmentKeyDTO::getId).toList();
+                for (List<Long> chunk : chunks(ids)) {
+                    appointmentRepo.updateStatusBulk(chunk, AppointmentStatus.PENDING, status, slotHeld, changeSeq);
+                }
+                return outcomes(request, keys, changed, status.name());
+            });
+        } finally {
+            changeSequence.done(changeSeq);
+        }
+
+        // In-memory state follows only once the transaction has committed
+        for (AppointmentKeyDTO key : changed) {
+            if (slotHeld == null) {
+                slotIndex.release(key.getDoctorId(), key.getAppointmentDate(), key.getAppointmentTime());
+            }
+            statsCounters.onStatusChanged(key.getDoctorId(), key.getUserId(), key.getStatus(), status);
+            versions.appointmentChanged(key.getDoctorId(), key.getUserId());
+            eventBus.publish(AppointmentEventDTO.statusChanged(key, status));
+        }
+        return outcomes;
+    }
+
+    @Override
+    public List<BulkOutcomeDTO> deleteBulk(BulkAppointmentRequestDTO request) {
+        List<AppointmentKeyDTO> deleted = new ArrayList<>();
+
+        List<BulkOutcomeDTO> outcomes;
+        long changeSeq = changeSequence.next();
+        try {
+            outcomes = transactionTemplate.execute(tx -> {
+                List<AppointmentKeyDTO> keys = lockKeys(request, parseStatus(request.getStatus()));
+                deleted.addAll(keys);
+
+                List<Long> ids = keys.stream().map(AppointmentKeyDTO::getId).toList();
+                for (List<Long> chunk : chunks(ids)) {
+                    appointmentRepo.deleteBulk(chunk);
+                }
+                tombstoneRepo.saveAll(keys.stream()
+                        .map(key -> new AppointmentTombstone(key.getId(), key.getUserId(), key.getDoctorId(), changeSeq))
+                        .toList());
+                return outcomes(request, keys, keys, "DELETED");
+            });
+        } finally {
+            changeSequence.done(changeSeq);
+        }
+
+        for (AppointmentKeyDTO key : deleted) {
+            if (key.getStatus().holdsSlot()) {
+                slotIndex.release(key.getDoctorId(), key.getAppointmentDate(), key.getAppointmentTime());
+            }
+            statsCounters.onDeleted(key.getDoctorId(), key.getUserId(), key.getStatus());
+            versions.appointmentChanged(key.getDoctorId(), key.getUserId());
+            eventBus.publish(AppointmentEventDTO.deleted(key.getId(), key.getDoctorId(), key.getUserId()));
+        }
+        return outcomes;
+    }
+
+    // ================= CHANGE FEED =================
+    @Override
+    public AppointmentChangesDTO getChanges(String since, Long userId, Long doctorId, Integer limit) {
+        if (userId != null && doctorId != null) {
+            throw new BadRequestException("Use either userId or doctorId, not both");
+        }
+        // safeUpTo is the primary's sequence: a lagging replica would skip rows the cursor then passes
+        return readRouting.onPrimary(() -> readChanges(since, userId, doctorId, limit));
+    }
+
+    private AppointmentChangesDTO readChanges(String since, Long userId, Long doctorId, Integer limit) {
+        int size = KeysetCursors.clampLimit(limit);
+        ChangeKey after = KeysetCursors.decodeChange(since);
+        long seq = after.changeSeq();
+        long id = after.id();
+        // Tombstones at or below the purge horizon are gone. A client that started from scratch
+        // after they went never held those rows; anyone else behind the horizon may have missed deletes
+        long purgedUpTo = changeSequence.purgedUpTo();
+        long floor = since == null || since.isBlank() ? purgedUpTo : after.floor();
+        if (seq <= purgedUpTo && floor < purgedUpTo) {
+            throw new ResyncRequiredException("Cursor is older than the change feed's retention; "
+                    + "sync again without one");
+        }
+        // Never read past a sequence whose writer has not finished yet
+        long upTo = changeSequence.safeUpTo();
+        Pageable probe = KeysetCursors.probe(size);
+
+        List<SequencedAppointmentViewDTO> rows;
+        List<AppointmentTombstone> tombstones;
+        if (userId != null) {
+            rows = appointmentRepo.findChangedByUserAfter(userId, seq, id, upTo, probe);
+            tombstones = tombstoneRepo.findChangedByUserAfter(userId, seq, id, upTo, probe);
+        } else if (doctorId != null) {
+            rows = appointmentRepo.findChangedByDoctorAfter(doctorId, seq, id, upTo, probe);
+            tombstones = tombstoneRepo.findChangedByDoctorAfter(doctorId, seq, id, upTo, probe);
+        } else {
+            rows = appointmentRepo.findChangedAfter(seq, id, upTo, probe);
+            tombstones = tombstoneRepo.findChangedAfter(seq, id, upTo, probe);
+        }
+
+        // Merge both (changeSeq, id)-ordered lists and keep the first size entries
+        List<AppointmentViewDTO> upserted = new ArrayList<>();
+        List<Long> deleted = new ArrayList<>();
+        int r = 0;
+        int t = 0;
+        while (upserted.size() + deleted.size() < size && (r < rows.size() || t < tombstones.size())) {
+            boolean takeRow = t == tombstones.size() || (r < rows.size() && compareChange(
+                    rows.get(r).getChangeSeq(), rows.get(r).getId(),
+                    tombstones.get(t).getChangeSeq(), tombstones.get(t).getAppointmentId()) < 0);
+            if (takeRow) {
+                SequencedAppointmentViewDTO row = rows.get(r++);
+                upserted.add(row);
+                seq = row.getChangeSeq();
+                id = row.getId();
+            } else {
+                AppointmentTombstone tombstone = tombstones.get(t++);
+                deleted.add(tombstone.getAppointmentId());
+                seq = tombstone.getChangeSeq();
+                id = tombstone.getAppointmentId();
+            }
+        }
+        boolean hasMore = r < rows.size() || t < tombstones.size();
+        return new AppointmentChangesDTO(upserted, deleted, KeysetCursors.encodeChange(seq, id, floor), hasMore);
+    }
+
+    // ================= HISTORY =================
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<AppointmentViewDTO> getHistory(Long userId, Long doctorId, String cursor, Integer limit) {
+        if (userId != null && doctorId != null) {
+            throw new BadRequestException("Use either userId or doctorId, not both");
+        }
+        int size = KeysetCursors.clampLimit(limit);
+        Pageable probe = KeysetCursors.probe(size);
+        AppointmentKey key = cursor == null || cursor.isBlank() ? null : KeysetCursors.decodeAppointment(cursor);
+
+        List<AppointmentViewDTO> rows;
+        if (userId != null) {
+            rows = key == null
+                    ? archiveRepo.findFirstPageByUser(userId, probe)
+                    : archiveRepo.findPageByUserBefore(userId, key.date(), key.time(), key.id(), probe);
+        } else if (doctorId != null) {
+            rows = key == null
+                    ? archiveRepo.findFirstPageByDoctor(doctorId, probe)
+                    : archiveRepo.findPageByDoctorBefore(doctorId, key.date(), key.time(), key.id(), probe);
+        } else {
+            rows = key == null
+                    ? archiveRepo.findFirstPage(probe)
+                    : archiveRepo.findPageBefore(key.date(), key.time(), key.id(), probe);
+        }
+        return KeysetCursors.page(rows, size, KeysetCursors::encode, Function.identity());
+    }
+
+    private static int compareChange(long seqA, long idA, long seqB, long idB) {
+        int bySeq = Long.compare(seqA, seqB);
+        return bySeq != 0 ? bySeq : Long.compare(idA, idB);
+    }
+
+    private static AppointmentStatus parseStatus(String status) {
+        if (status == null || status.isBlank()) {
+            return null;
+        }
+        try {
+            return AppointmentStatus.valueOf(status.trim().toUpperCase());
+        } catch (IllegalArgumentException ex) {
+            throw new BadRequestException("Unknown appointment status: " + status);
+        }
+    }
+
+    private List<AppointmentKeyDTO> lockKeys(BulkAppointmentRequestDTO request, AppointmentStatus statusFilter) {
+        if (request.getIds() != null && !request.getIds().isEmpty()) {
+            Set<Long> ids = new LinkedHashSet<>(request.getIds());
+            if (ids.size() > BULK_MAX) {
+                throw new BadRequestException("At most " + BULK_MAX + " appointments per request");
+            }
+            List<AppointmentKeyDTO> keys = new ArrayList<>();
+            for (List<Long> chunk : chunks(new ArrayList<>(ids))) {
+                keys.addAll(appointmentRepo.lockKeysByIds(chunk));
+            }
+            return keys;
+        }
+
+        if (request.getDoctorId() != null && request.getDate() != null) {
+            List<AppointmentKeyDTO> keys = appointmentRepo.lockKeysByDoctorAndDate(
+                    request.getDoctorId(), LocalDate.parse(request.getDate()), statusFilter);
+            if (keys.size() > BULK_MAX) {
+                throw new BadRequestException("At most " + BULK_MAX + " appointments per request");
+            }
+            return keys;
+        }
+
+        throw new BadRequestException("Provide either ids or doctorId and date");
+    }
+
+    // Requested ids keep their order; a filter reports every row it matched
+    private static List<BulkOutcomeDTO> outcomes(
+            BulkAppointmentRequestDTO request,
+            List<AppointmentKeyDTO> found,
+            List<AppointmentKeyDTO> changed,
+            String outcome) {
+        Set<Long> changedIds = changed.stream().map(AppointmentKeyDTO::getId).collect(Collectors.toSet());
+        Map<Long, AppointmentKeyDTO> foundById = found.stream()
+                .collect(Collectors.toMap(AppointmentKeyDTO::getId, Function.identity()));
+
+        List<Long> ids = request.getIds() != null && !request.getIds().isEmpty()
+                ? new ArrayList<>(new LinkedHashSet<>(request.getIds()))
+                : found.stream().map(AppointmentKeyDTO::getId).toList();
+
+        List<BulkOutcomeDTO> outcomes = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            if (!foundById.containsKey(id)) {
+                outcomes.add(new BulkOutcomeDTO(id, "NOT_FOUND"));
+            } else if (changedIds.contains(id)) {
+                outcomes.add(new BulkOutcomeDTO(id, outcome));
+            } else {
+                outcomes.add(new BulkOutcomeDTO(id, "SKIPPED"));
+            }
+        }
+        return outcomes;
+    }
+
+    private static List<List<Long>> chunks(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += BULK_CHUNK) {
+            chunks.add(ids.subList(from, Math.min(from + BULK_CHUNK, ids.size())));
+        }
+        return chunks;
+    }
+
+    // ================= STATS =================
+    @Override
+    public AppointmentStatsDTO getStats() {
+        return statsCounters.global();
+    }
+
+    @Override
+    public AppointmentStatsDTO getStatsByDoctor(Long doctorId) {
+        return statsCounters.forDoctor(doctorId);
+    }
+
+    @Override
+    public AppointmentStatsDTO getStatsByUser(Long userId) {
+        return statsCounters.forUser(userId);
     }
 }
@@ -1,27 +1,75 @@
 package com.doctorappointmentbackend.doctorappointmentbackendlogic.serviceimpl;
 
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.config.CacheConfig;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.CursorPageDTO;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.DayAvailabilityDTO;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.exception.BadRequestException;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.exception.ConflictException;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.exception.NotFoundException;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.index.DoctorEmailIndex;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.index.DoctorSearchIndex;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.index.SlotOccupancyIndex;
 import com.doctorappointmentbackend.doctorappointmentbackendlogic.model.Doctor;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.pagination.KeysetCursors;
 import com.doctorappointmentbackend.doctorappointmentbackendlogic.repository.DoctorRepository;
 import com.doctorappointmentbackend.doctorappointmentbackendlogic.service.DoctorService;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 @Service
 public class DoctorServiceImpl implements DoctorService {
 
     private final DoctorRepository repository;
+    private final DoctorEmailIndex emailIndex;
+    private final DoctorSearchIndex searchIndex;
+    private final SlotOccupancyIndex slotIndex;
 
-    public DoctorServiceImpl(DoctorRepository repository) {
+    // Bookable grid used for availability (matches the 9:00 AM - 5:00 PM hint in the UI)
+    private final LocalTime dayStart;
+    private final LocalTime dayEnd;
+    private final int slotMinutes;
+    private final int maxAvailabilityDays;
+
+    public DoctorServiceImpl(
+            DoctorRepository repository,
+            DoctorEmailIndex emailIndex,
+            DoctorSearchIndex searchIndex,
+            SlotOccupancyIndex slotIndex,
+            @Value("${appointment.slots.day-start:09:00}") LocalTime dayStart,
+            @Value("${appointment.slots.day-end:17:00}") LocalTime dayEnd,
+            @Value("${appointment.slots.length-minutes:30}") int slotMinutes,
+            @Value("${appointment.slots.max-range-days:62}") int maxAvailabilityDays
+    ) {
         this.repository = repository;
+        this.emailIndex = emailIndex;
+        this.searchIndex = searchIndex;
+        this.slotIndex = slotIndex;
+        this.dayStart = dayStart;
+        this.dayEnd = dayEnd;
+        this.slotMinutes = slotMinutes;
+        this.maxAvailabilityDays = maxAvailabilityDays;
     }
 
+    // Cached doctors are keyed by the version they were loaded under (see CacheConfig).
+    // Evictions run before the controller bumps it, so they hit the entries being superseded
     @Override
+    @CacheEvict(cacheNames = CacheConfig.DOCTOR_LIST, key = CacheConfig.DOCTORS_VERSION)
     public Doctor addDoctor(Doctor doctor) {
         // Check if doctor with same email already exists
         if (repository.findByEmail(doctor.getEmail()).isPresent()) {
-            throw new RuntimeException("Doctor with email " + doctor.getEmail() + " already exists");
+            throw new ConflictException("Doctor with email " + doctor.getEmail() + " already exists");
         }
         
         // Handle null or empty phone
@@ -29,36 +77,136 @@ public class DoctorServiceImpl implements DoctorService {
             doctor.setPhone(null);
         }
         
-        return repository.save(doctor);
+        Doctor saved = repository.save(doctor);
+        emailIndex.put(saved.getEmail(), saved.getId());
+        searchIndex.put(saved);
+        return saved;
     }
 
     @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.DOCTOR_LIST, key = CacheConfig.DOCTORS_VERSION)
     public List<Doctor> getAllDoctors() {
         return repository.findAll();
     }
 
     @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<Doctor> getDoctorsPage(String cursor, Integer limit) {
+        int size = KeysetCursors.clampLimit(limit);
+        List<Doctor> rows = repository.findByIdGreaterThanOrderByIdAsc(
+                KeysetCursors.decodeId(cursor), KeysetCursors.probe(size));
+        return KeysetCursors.page(rows, size, d -> String.valueOf(d.getId()), d -> d);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.DOCTOR_BY_ID, key = CacheConfig.DOCTOR_KEY)
     public Doctor getDoctorById(Long id) {
         return repository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Doctor not found with id: " + id));
+                .orElseThrow(() -> new NotFoundException("Doctor not found with id: " + id));
+    }
+
+    @Override
+    public CursorPageDTO<Doctor> searchDoctors(String specialization, String query, String cursor, Integer limit) {
+        int size = KeysetCursors.clampLimit(limit);
+        List<Doctor> rows = searchIndex.search(specialization, query, KeysetCursors.decodeId(cursor), size + 1);
+        return KeysetCursors.page(rows, size, d -> String.valueOf(d.getId()), d -> d);
+    }
+
+    @Override
+    public List<String> getSpecializations() {
+        return searchIndex.specializations();
+    }
+
+    @Override
+    public Optional<Doctor> findDoctorByEmail(String email) {
+        Long id = emailIndex.idFor(email);
+        if (id != null) {
+            Optional<Doctor> doctor = repository.findById(id);
+            if (doctor.isPresent()) {
+                return doctor;
+            }
+        }
+
+        // Not indexed yet (e.g. inserted by another node): fall back to the unique email index
+        Optional<Doctor> doctor = repository.findByEmail(email);
+        doctor.ifPresent(d -> emailIndex.put(d.getEmail(), d.getId()));
+        return doctor;
     }
 
     @Override
+    public List<DayAvailabilityDTO> getAvailability(Long doctorId, LocalDate from, LocalDate to) {
+        // The slot index has no notion of doctors; an unknown id would look fully free
+        if (!searchIndex.contains(doctorId)) {
+            throw new NotFoundException("Doctor not found with id: " + doctorId);
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate today = now.toLocalDate();
+
+        LocalDate start = from == null || from.isBefore(today) ? today : from;
+        LocalDate end = to == null ? start : to;
+        if (end.isBefore(start)) {
+            throw new BadRequestException("'to' must not be before 'from'");
+        }
+        if (end.isAfter(start.plusDays(maxAvailabilityDays - 1L))) {
+            throw new BadRequestException("Availability range is limited to " + maxAvailabilityDays + " days");
+        }
+
+        List<DayAvailabilityDTO> days = new ArrayList<>();
+        for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
+            List<LocalTime> free = new ArrayList<>();
+            for (LocalTime slot = dayStart;
+                 !slot.plusMinutes(slotMinutes).isAfter(dayEnd) && !slot.isBefore(dayStart);
+                 slot = slot.plusMinutes(slotMinutes)) {
+
+                // Slots earlier today are already gone
+                if (date.equals(today) && slot.isBefore(now.toLocalTime())) {
+                    continue;
+                }
+                if (slotIndex.isFree(doctorId, date, slot, slotMinutes)) {
+                    free.add(slot);
+                }
+            }
+            days.add(new DayAvailabilityDTO(date, free));
+        }
+        return days;
+    }
+
+    @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.DOCTOR_BY_ID, key = CacheConfig.DOCTOR_KEY),
+            @CacheEvict(cacheNames = CacheConfig.DOCTOR_LIST, key = CacheConfig.DOCTORS_VERSION)
+    })
     public Doctor updateDoctor(Long id, Doctor doctor) {
 
         Doctor existing = repository.findById(id)
-                .orElseThrow(() -> new RuntimeException("Doctor not found with id: " + id));
+                .orElseThrow(() -> new NotFoundException("Doctor not found with id: " + id));
+
+        String previousEmail = existing.getEmail();
 
         existing.setName(doctor.getName());
         existing.setSpecialization(doctor.getSpecialization());
         existing.setPhone(doctor.getPhone());
         existing.setEmail(doctor.getEmail());
 
-        return repository.save(existing);
+        Doctor saved = repository.save(existing);
+        emailIndex.remove(previousEmail, saved.getId());
+        emailIndex.put(saved.getEmail(), saved.getId());
+        searchIndex.put(saved);
+        return saved;
     }
 
     @Override
+    @Caching(evict = {
+            @CacheEvict(cacheNames = CacheConfig.DOCTOR_BY_ID, key = CacheConfig.DOCTOR_KEY),
+            @CacheEvict(cacheNames = CacheConfig.DOCTOR_LIST, key = CacheConfig.DOCTORS_VERSION)
+    })
     public void deleteDoctor(Long id) {
-        repository.deleteById(id);
+        repository.findById(id).ifPresent(doctor -> {
+            repository.delete(doctor);
+            emailIndex.remove(doctor.getEmail(), doctor.getId());
+            searchIndex.remove(doctor.getId());
+        });
     }
 }
@@ -1,81 +1,134 @@
 package com.doctorappointmentbackend.doctorappointmentbackendlogic.serviceimpl;
 
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.CursorPageDTO;
 import com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.LoginResponseDTO;
 import com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.UserRequestDTO;
 import com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.UserResponseDTO;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.etag.ResourceVersions;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.exception.AuthenticationFailedException;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.exception.BadRequestException;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.exception.ConflictException;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.exception.NotFoundException;
 import com.doctorappointmentbackend.doctorappointmentbackendlogic.model.User;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.pagination.KeysetCursors;
 import com.doctorappointmentbackend.doctorappointmentbackendlogic.repository.UserRepository;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.security.JwtUtil;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.security.PasswordHashingService;
 import com.doctorappointmentbackend.doctorappointmentbackendlogic.service.UserService;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 @Service
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepo;
+    private final PasswordHashingService passwordHasher;
+    private final JwtUtil jwtUtil;
+    private final ResourceVersions versions;
 
-    public UserServiceImpl(UserRepository userRepo) {
+    public UserServiceImpl(UserRepository userRepo, PasswordHashingService passwordHasher, JwtUtil jwtUtil,
+                           ResourceVersions versions) {
         this.userRepo = userRepo;
+        this.passwordHasher = passwordHasher;
+        this.jwtUtil = jwtUtil;
+        this.versions = versions;
     }
 
     // ================= REGISTER =================
     @Override
-    public UserResponseDTO saveUser(UserRequestDTO dto) {
+    public CompletableFuture<UserResponseDTO> saveUser(UserRequestDTO dto) {
 
         if (userRepo.findByEmail(dto.getEmail()).isPresent()) {
-            throw new RuntimeException("Email already exists");
+            throw new ConflictException("Email already exists");
         }
 
-        User user = new User();
-        user.setName(dto.getName());
-        user.setEmail(dto.getEmail());
-        user.setPassword(dto.getPassword());
-
         // ROLE COMES FROM UI: USER / DOCTOR (ADMIN can only be created directly in database)
         // Prevent ADMIN registration through regular endpoint
         if ("ADMIN".equalsIgnoreCase(dto.getRole())) {
-            throw new RuntimeException("Admin registration is not allowed through this endpoint");
+            throw new BadRequestException("Admin registration is not allowed through this endpoint");
+        }
+        if (dto.getPassword() == null || dto.getPassword().isEmpty()) {
+            throw new BadRequestException("Password is required");
         }
-        user.setRole(dto.getRole());
-
-        User saved = userRepo.save(user);
 
-        return new UserResponseDTO(
-                saved.getId(),
-                saved.getName(),
-                saved.getEmail(),
-                saved.getRole()
-        );
+        return passwordHasher.hash(dto.getPassword()).thenApply(hash -> {
+            User user = new User();
+            user.setName(dto.getName());
+            user.setEmail(dto.getEmail());
+            user.setPassword(hash);
+            user.setRole(dto.getRole());
+
+            User saved = userRepo.save(user);
+
+            return new UserResponseDTO(
+                    saved.getId(),
+                    saved.getName(),
+                    saved.getEmail(),
+                    saved.getRole()
+            );
+        });
     }
 
     // ================= LOGIN =================
     @Override
-    public LoginResponseDTO login(String email, String password) {
-
-        User user = userRepo.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        if (!user.getPassword().equals(password)) {
-            throw new RuntimeException("Invalid password");
+    public CompletableFuture<LoginResponseDTO> login(String email, String password) {
+
+        User user = userRepo.findByEmail(email).orElse(null);
+
+        // Completed by hand rather than via thenApply, so a wrong password fails
+        // with the shared stackless exception instead of a fresh CompletionException
+        CompletableFuture<LoginResponseDTO> result = new CompletableFuture<>();
+        if (user == null) {
+            // Same bcrypt work as a wrong password, so timing does not reveal which emails exist
+            passwordHasher.matchesNothing(password).whenComplete((matches, error) -> result.completeExceptionally(
+                    error != null ? error : AuthenticationFailedException.INVALID_CREDENTIALS));
+            return result;
         }
 
-        return new LoginResponseDTO(
-                user.getId(),
-                user.getRole()
-        );
+        String stored = user.getPassword();
+        passwordHasher.matches(password, stored).whenComplete((matches, error) -> {
+            if (error != null) {
+                result.completeExceptionally(error);
+                return;
+            }
+            if (!matches) {
+                result.completeExceptionally(AuthenticationFailedException.INVALID_CREDENTIALS);
+                return;
+            }
+            if (passwordHasher.needsRehash(stored)) {
+                rehash(user.getId(), stored, password);
+            }
+            result.complete(new LoginResponseDTO(
+                    user.getId(),
+                    user.getRole(),
+                    jwtUtil.generateToken(user.getId(), user.getEmail(), user.getRole())
+            ));
+        });
+        return result;
+    }
+
+    // Upgrades plaintext or under-cost hashes in the background; a busy pool
+    // just means the upgrade happens on a later login
+    private void rehash(Long userId, String stored, String password) {
+        passwordHasher.hash(password)
+                .thenAccept(hash -> userRepo.replacePassword(userId, stored, hash));
     }
 
     // ================= GET USER =================
     @Override
     public User getUserByEmail(String email) {
         return userRepo.findByEmail(email)
-                .orElseThrow(() -> new RuntimeException("User not found"));
+                .orElseThrow(() -> new NotFoundException("User not found"));
     }
     
     // ================= ADMIN: GET ALL USERS =================
     @Override
+    @Transactional(readOnly = true)
     public List<UserResponseDTO> getAllUsers() {
         return userRepo.findAll().stream()
                 .map(user -> new UserResponseDTO(
@@ -87,12 +140,37 @@ public class UserServiceImpl implements UserService {
                 .collect(Collectors.toList());
     }
     
+    // ================= ADMIN: PAGE OF USERS =================
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDTO<UserResponseDTO> getUsersPage(String cursor, Integer limit) {
+        int size = KeysetCursors.clampLimit(limit);
+        List<User> rows = userRepo.findByIdGreaterThanOrderByIdAsc(
+                KeysetCursors.decodeId(cursor), KeysetCursors.probe(size));
+        return KeysetCursors.page(rows, size,
+                user -> String.valueOf(user.getId()),
+                user -> new UserResponseDTO(
+                        user.getId(),
+                        user.getName(),
+                        user.getEmail(),
+                        user.getRole()
+                ));
+    }
+
     // ================= ADMIN: DELETE USER =================
     @Override
     public void deleteUser(Long userId) {
         if (!userRepo.existsById(userId)) {
-            throw new RuntimeException("User not found");
+            throw new NotFoundException("User not found");
+        }
+        // Appointments (hot or archived) reference their user without ON DELETE CASCADE,
+        // so a user with any history is kept and the delete answers 409
+        try {
+            userRepo.deleteById(userId);
+        } catch (DataIntegrityViolationException ex) {
+            throw new ConflictException("User has appointments and cannot be deleted");
         }
-        userRepo.deleteById(userId);
+        // Appointment tags include the users version
+        versions.usersChanged();
     }
 }
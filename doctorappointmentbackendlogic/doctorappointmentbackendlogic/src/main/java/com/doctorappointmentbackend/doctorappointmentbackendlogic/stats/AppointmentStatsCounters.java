@@ -0,0 +1,139 @@
+package com.doctorappointmentbackend.doctorappointmentbackendlogic.stats;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.AppointmentStatsDTO;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.model.AppointmentStatus;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.repository.AppointmentRepository;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.repository.ArchivedAppointmentRepository;
+
+/**
+ * In-memory appointment counters (global, per doctor, per user).
+ *
+ * Rebuilt once at startup from a single GROUP BY query, then kept current by
+ * the appointment service on every book / approve / reject / delete, so
+ * reading stats never touches the appointments table.
+ *
+ * Counts cover the archive table too, so moving a row to the archive leaves
+ * them unchanged.
+ */
+@Component
+public class AppointmentStatsCounters implements SmartInitializingSingleton {
+
+    private final AppointmentRepository appointmentRepo;
+    private final ArchivedAppointmentRepository archiveRepo;
+
+    private volatile Counts global = new Counts();
+    private volatile ConcurrentHashMap<Long, Counts> byDoctor = new ConcurrentHashMap<>();
+    private volatile ConcurrentHashMap<Long, Counts> byUser = new ConcurrentHashMap<>();
+
+    public AppointmentStatsCounters(AppointmentRepository appointmentRepo, ArchivedAppointmentRepository archiveRepo) {
+        this.appointmentRepo = appointmentRepo;
+        this.archiveRepo = archiveRepo;
+    }
+
+    // Runs before the web server starts accepting requests
+    @Override
+    public void afterSingletonsInstantiated() {
+        rebuild();
+    }
+
+    public synchronized void rebuild() {
+        Counts newGlobal = new Counts();
+        ConcurrentHashMap<Long, Counts> newByDoctor = new ConcurrentHashMap<>();
+        ConcurrentHashMap<Long, Counts> newByUser = new ConcurrentHashMap<>();
+
+        List<Object[]> rows = new ArrayList<>(appointmentRepo.countGroupedByDoctorUserAndStatus());
+        rows.addAll(archiveRepo.countGroupedByDoctorUserAndStatus());
+        for (Object[] row : rows) {
+            Long doctorId = (Long) row[0];
+            Long userId = (Long) row[1];
+            AppointmentStatus status = (AppointmentStatus) row[2];
+            long count = (Long) row[3];
+
+            newGlobal.add(status, count);
+            newByDoctor.computeIfAbsent(doctorId, id -> new Counts()).add(status, count);
+            newByUser.computeIfAbsent(userId, id -> new Counts()).add(status, count);
+        }
+
+        global = newGlobal;
+        byDoctor = newByDoctor;
+        byUser = newByUser;
+    }
+
+    // ================= UPDATES =================
+
+    public void onBooked(Long doctorId, Long userId, AppointmentStatus status) {
+        apply(doctorId, userId, status, 1);
+    }
+
+    public void onStatusChanged(Long doctorId, Long userId, AppointmentStatus from, AppointmentStatus to) {
+        if (from == to) {
+            return;
+        }
+        apply(doctorId, userId, from, -1);
+        apply(doctorId, userId, to, 1);
+    }
+
+    public void onDeleted(Long doctorId, Long userId, AppointmentStatus status) {
+        apply(doctorId, userId, status, -1);
+    }
+
+    private void apply(Long doctorId, Long userId, AppointmentStatus status, long delta) {
+        global.add(status, delta);
+        byDoctor.computeIfAbsent(doctorId, id -> new Counts()).add(status, delta);
+        byUser.computeIfAbsent(userId, id -> new Counts()).add(status, delta);
+    }
+
+    // ================= READS =================
+
+    public AppointmentStatsDTO global() {
+        return global.toDTO();
+    }
+
+    public AppointmentStatsDTO forDoctor(Long doctorId) {
+        Counts counts = byDoctor.get(doctorId);
+        return counts != null ? counts.toDTO() : new AppointmentStatsDTO(0, 0, 0, 0);
+    }
+
+    public AppointmentStatsDTO forUser(Long userId) {
+        Counts counts = byUser.get(userId);
+        return counts != null ? counts.toDTO() : new AppointmentStatsDTO(0, 0, 0, 0);
+    }
+
+    private static final class Counts {
+
+        private final LongAdder total = new LongAdder();
+        private final LongAdder pending = new LongAdder();
+        private final LongAdder approved = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+
+        // Status-only transitions leave the total untouched (+1 and -1 cancel out)
+        void add(AppointmentStatus status, long delta) {
+            total.add(delta);
+            if (status == null) {
+                return;
+            }
+            switch (status) {
+                case PENDING -> pending.add(delta);
+                case APPROVED -> approved.add(delta);
+                case REJECTED -> rejected.add(delta);
+            }
+        }
+
+        AppointmentStatsDTO toDTO() {
+            return new AppointmentStatsDTO(
+                    total.sum(),
+                    pending.sum(),
+                    approved.sum(),
+                    rejected.sum()
+            );
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.doctorappointmentbackend.doctorappointmentbackendlogic.sync;
+
+import java.util.TreeSet;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.repository.AppointmentRepository;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.repository.AppointmentTombstoneRepository;
+
+/**
+ * Allocates the change_seq values stamped on appointment writes and tombstones.
+ *
+ * Sequences are handed out before a write commits, so a later number can
+ * commit first. A reader that advanced its cursor past it would then never
+ * see the earlier write. Every allocation is therefore tracked until the
+ * writer calls done() (after commit or rollback), and readers only see
+ * changes up to safeUpTo(): everything at or below it has settled.
+ *
+ * Also tracks the purge horizon: the highest sequence whose tombstones
+ * TombstonePurger has removed. A cursor at or below it may have missed
+ * deletes. The horizon only moves once a purge commits; while one runs,
+ * readers are held to its upper bound too, and a rollback drops that bound.
+ *
+ * Seeded at startup from the highest stamped value (or the purge horizon,
+ * if every later change was a purged delete). Like the other in-memory
+ * indexes, this assumes a single instance owns the writes.
+ */
+@Component
+public class ChangeSequence implements SmartInitializingSingleton {
+
+    private final AppointmentRepository appointmentRepo;
+    private final AppointmentTombstoneRepository tombstoneRepo;
+
+    private long last;
+    private long purgedUpTo;
+    // Upper bound of the purge transaction in progress, 0 when none is
+    private long purgingUpTo;
+    private final TreeSet<Long> inFlight = new TreeSet<>();
+
+    public ChangeSequence(AppointmentRepository appointmentRepo, AppointmentTombstoneRepository tombstoneRepo) {
+        this.appointmentRepo = appointmentRepo;
+        this.tombstoneRepo = tombstoneRepo;
+    }
+
+    @Override
+    public synchronized void afterSingletonsInstantiated() {
+        purgedUpTo = tombstoneRepo.purgedUpTo();
+        last = Math.max(Math.max(appointmentRepo.maxChangeSeq(), tombstoneRepo.maxChangeSeq()), purgedUpTo);
+    }
+
+    // Held only for a few field updates, so a plain monitor is cheaper than anything lock-free here
+    public synchronized long next() {
+        long seq = ++last;
+        inFlight.add(seq);
+        return seq;
+    }
+
+    public synchronized void done(long seq) {
+        inFlight.remove(seq);
+    }
+
+    public synchronized long safeUpTo() {
+        return inFlight.isEmpty() ? last : inFlight.first() - 1;
+    }
+
+    // What readers check: committed purges, plus the one in progress
+    public synchronized long purgedUpTo() {
+        return Math.max(purgedUpTo, purgingUpTo);
+    }
+
+    // Before the purge transaction starts, so no reader passes its tombstones unnoticed mid-delete
+    public synchronized void purging(long upTo) {
+        purgingUpTo = upTo;
+    }
+
+    // After the purge transaction commits
+    public synchronized void purged(long upTo) {
+        purgedUpTo = Math.max(purgedUpTo, upTo);
+        purgingUpTo = 0;
+    }
+
+    // The purge rolled back: its tombstones are all still there
+    public synchronized void purgeFailed() {
+        purgingUpTo = 0;
+    }
+}
@@ -0,0 +1,114 @@
+package com.doctorappointmentbackend.doctorappointmentbackendlogic.sync;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.repository.AppointmentTombstoneRepository;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Drops tombstones older than the retention window, so deletes and archive
+ * moves do not pile up in the change feed forever (a sync from an empty
+ * cursor would otherwise list every id ever deleted).
+ *
+ * Each batch raises the purge horizon to its highest change_seq: in
+ * change_feed_horizon within the same transaction as the delete, and in
+ * memory once that commits (see ChangeSequence for the batch in flight).
+ * /appointment/changes answers 410 to a cursor at or below the horizon, and
+ * the client syncs again from scratch. Cursors carry the
+ * horizon their sync from scratch started at, so that new sync is not sent
+ * back too. Clients that sync at least once per retention window never see
+ * a 410.
+ */
+@Component
+public class TombstonePurger {
+
+    private static final Logger log = LoggerFactory.getLogger(TombstonePurger.class);
+
+    private final AppointmentTombstoneRepository tombstoneRepo;
+    private final ChangeSequence changeSequence;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Duration retention;
+    private final int batchSize;
+    private final int maxBatches;
+    private final Counter purged;
+
+    public TombstonePurger(AppointmentTombstoneRepository tombstoneRepo,
+                           ChangeSequence changeSequence,
+                           TransactionTemplate transactionTemplate,
+                           MeterRegistry registry,
+                           @Value("${appointment.sync.tombstone-retention:P30D}") Duration retention,
+                           @Value("${appointment.sync.purge-batch-size:1000}") int batchSize,
+                           @Value("${appointment.sync.purge-max-batches:100}") int maxBatches) {
+        this.tombstoneRepo = tombstoneRepo;
+        this.changeSequence = changeSequence;
+        this.transactionTemplate = transactionTemplate;
+        this.retention = retention;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxBatches = Math.max(1, maxBatches);
+        this.purged = Counter.builder("appointment.sync.tombstones.purged")
+                .description("Change-feed tombstones dropped after the retention window")
+                .register(registry);
+    }
+
+    @Scheduled(initialDelayString = "${appointment.sync.purge-initial-delay:PT10M}",
+            fixedDelayString = "${appointment.sync.purge-interval:PT1H}")
+    public void run() {
+        // A zero or negative retention keeps tombstones forever
+        if (retention.isZero() || retention.isNegative()) {
+            return;
+        }
+        try {
+            int total = purgeBefore(LocalDateTime.now().minus(retention));
+            if (total > 0) {
+                log.info("Purged {} change-feed tombstones; horizon is now {}", total, changeSequence.purgedUpTo());
+            }
+        } catch (DataAccessException ex) {
+            log.warn("Tombstone purge stopped early", ex);
+        }
+    }
+
+    // Returns how many tombstones were dropped
+    public int purgeBefore(LocalDateTime cutoff) {
+        int total = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            List<Long> seqs = tombstoneRepo.findSeqsDeletedBefore(cutoff, PageRequest.of(0, batchSize));
+            if (seqs.isEmpty()) {
+                break;
+            }
+            long upTo = seqs.get(seqs.size() - 1);
+            changeSequence.purging(upTo);
+            Integer deleted;
+            try {
+                deleted = transactionTemplate.execute(tx -> {
+                    tombstoneRepo.raisePurgedUpTo(upTo);
+                    return tombstoneRepo.deleteUpTo(upTo);
+                });
+            } catch (RuntimeException ex) {
+                changeSequence.purgeFailed();
+                throw ex;
+            }
+            changeSequence.purged(upTo);
+            purged.increment(deleted);
+            total += deleted;
+
+            if (seqs.size() < batchSize) {
+                break;
+            }
+        }
+        return total;
+    }
+}
@@ -0,0 +1,33 @@
+-- Schema as previously generated by spring.jpa.hibernate.ddl-auto=update.
+-- Existing databases are baselined at this version (spring.flyway.baseline-on-migrate).
+
+CREATE TABLE users (
+    id       BIGINT NOT NULL AUTO_INCREMENT,
+    name     VARCHAR(255),
+    email    VARCHAR(255),
+    password VARCHAR(255),
+    role     VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE doctors (
+    id             BIGINT NOT NULL AUTO_INCREMENT,
+    name           VARCHAR(255),
+    specialization VARCHAR(255),
+    phone          VARCHAR(255),
+    email          VARCHAR(255),
+    PRIMARY KEY (id)
+);
+
+CREATE TABLE appointments (
+    id               BIGINT NOT NULL AUTO_INCREMENT,
+    user_id          BIGINT NOT NULL,
+    doctor_id        BIGINT NOT NULL,
+    appointment_date DATE,
+    appointment_time TIME(6),
+    status           VARCHAR(255),
+    PRIMARY KEY (id),
+    CONSTRAINT fk_appointments_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_appointments_doctor FOREIGN KEY (doctor_id) REFERENCES doctors (id)
+);
@@ -0,0 +1,47 @@
+-- Indexes for the appointment / doctor hot paths.
+
+-- Doctor emails were never unique. Duplicates are renamed rather than merged:
+-- they may be different people, and each keeps its own appointments. The
+-- earliest doctor keeps the address; the others get duplicate-<id>-<email>
+UPDATE doctors SET email = CONCAT('duplicate-', id, '-', LEFT(email, 200))
+WHERE email IS NOT NULL
+  AND id NOT IN (
+      SELECT keep_id FROM (
+          SELECT MIN(id) AS keep_id
+          FROM doctors
+          WHERE email IS NOT NULL
+          GROUP BY email
+      ) keepers
+  );
+
+-- Doctor profile lookup by email (DoctorRepository.findByEmail)
+CREATE UNIQUE INDEX uk_doctors_email ON doctors (email);
+
+-- Slot ownership: NULL once an appointment is rejected, so the slot can be rebooked
+ALTER TABLE appointments ADD COLUMN slot_held BIT;
+
+UPDATE appointments SET slot_held = TRUE WHERE status <> 'REJECTED';
+
+-- Older rows may contain double bookings; only the earliest keeps the slot
+UPDATE appointments SET slot_held = NULL
+WHERE slot_held IS NOT NULL
+  AND id NOT IN (
+      SELECT keep_id FROM (
+          SELECT MIN(id) AS keep_id
+          FROM appointments
+          WHERE slot_held IS NOT NULL
+          GROUP BY doctor_id, appointment_date, appointment_time
+      ) keepers
+  );
+
+-- Double-booking backstop; its (doctor_id, appointment_date, appointment_time)
+-- prefix also serves the per-doctor listings and keyset pages
+CREATE UNIQUE INDEX uk_appointments_doctor_slot
+    ON appointments (doctor_id, appointment_date, appointment_time, slot_held);
+
+-- Per-patient listings and keyset pages
+CREATE INDEX idx_appointments_user_date
+    ON appointments (user_id, appointment_date, appointment_time);
+
+-- Status filters (pending queues)
+CREATE INDEX idx_appointments_status ON appointments (status);
@@ -0,0 +1,20 @@
+-- Appointment status as a compact code (0 PENDING, 1 APPROVED, 2 REJECTED)
+-- plus an optimistic-lock version bumped by every status transition.
+
+ALTER TABLE appointments ADD COLUMN version BIGINT DEFAULT 0 NOT NULL;
+
+ALTER TABLE appointments ADD COLUMN status_code TINYINT DEFAULT 0 NOT NULL;
+
+UPDATE appointments SET status_code = CASE status
+    WHEN 'APPROVED' THEN 1
+    WHEN 'REJECTED' THEN 2
+    ELSE 0
+END;
+
+DROP INDEX idx_appointments_status ON appointments;
+
+ALTER TABLE appointments DROP COLUMN status;
+
+ALTER TABLE appointments RENAME COLUMN status_code TO status;
+
+CREATE INDEX idx_appointments_status ON appointments (status);
@@ -0,0 +1,25 @@
+-- Change feed for /appointment/changes: every insert and status change stamps
+-- the row with a monotonic change_seq, and deletes leave a tombstone carrying one.
+
+ALTER TABLE appointments ADD COLUMN change_seq BIGINT DEFAULT 0 NOT NULL;
+
+-- Existing rows are ordered by id, ahead of anything written from now on
+UPDATE appointments SET change_seq = id;
+
+CREATE INDEX idx_appointments_change_seq ON appointments (change_seq);
+CREATE INDEX idx_appointments_user_change ON appointments (user_id, change_seq);
+CREATE INDEX idx_appointments_doctor_change ON appointments (doctor_id, change_seq);
+
+-- No foreign keys: a tombstone outlives the appointment and may outlive its user or doctor
+CREATE TABLE appointment_tombstones (
+    appointment_id BIGINT NOT NULL,
+    user_id        BIGINT NOT NULL,
+    doctor_id      BIGINT NOT NULL,
+    change_seq     BIGINT NOT NULL,
+    deleted_at     DATETIME(6) NOT NULL,
+    PRIMARY KEY (appointment_id)
+);
+
+CREATE INDEX idx_tombstones_change_seq ON appointment_tombstones (change_seq);
+CREATE INDEX idx_tombstones_user_change ON appointment_tombstones (user_id, change_seq);
+CREATE INDEX idx_tombstones_doctor_change ON appointment_tombstones (doctor_id, change_seq);
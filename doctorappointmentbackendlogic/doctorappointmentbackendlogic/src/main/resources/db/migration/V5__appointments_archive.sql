@@ -0,0 +1,26 @@
+-- Cold tier: appointments past the archive horizon are moved here by
+-- AppointmentArchiver, so the hot table (and its indexes) only holds recent
+-- and upcoming slots. slot_held and change_seq stay behind: a past slot is
+-- never rebooked, and the move itself leaves a tombstone in the change feed.
+-- Foreign keys as on appointments: a user or doctor with history stays put.
+
+CREATE TABLE appointments_archive (
+    id               BIGINT NOT NULL,
+    user_id          BIGINT NOT NULL,
+    doctor_id        BIGINT NOT NULL,
+    appointment_date DATE,
+    appointment_time TIME(6),
+    status           TINYINT NOT NULL,
+    version          BIGINT DEFAULT 0 NOT NULL,
+    archived_at      DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT fk_appointments_archive_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_appointments_archive_doctor FOREIGN KEY (doctor_id) REFERENCES doctors (id)
+);
+
+-- Per-patient / per-doctor history, newest first
+CREATE INDEX idx_archive_user_date ON appointments_archive (user_id, appointment_date, appointment_time);
+CREATE INDEX idx_archive_doctor_date ON appointments_archive (doctor_id, appointment_date, appointment_time);
+
+-- Lets the archiver pick the oldest hot rows without scanning the table
+CREATE INDEX idx_appointments_date ON appointments (appointment_date);
@@ -0,0 +1,12 @@
+-- Tombstones are purged after a retention window (TombstonePurger). The single
+-- row records the highest change_seq purged so far: a /appointment/changes
+-- cursor at or below it (from a sync begun before that purge) may have missed
+-- deletes and must resync from scratch.
+
+CREATE TABLE change_feed_horizon (
+    id           TINYINT NOT NULL,
+    purged_up_to BIGINT NOT NULL,
+    PRIMARY KEY (id)
+);
+
+INSERT INTO change_feed_horizon (id, purged_up_to) VALUES (1, 0);
@@ -0,0 +1,55 @@
+package com.doctorappointmentbackend.doctorappointmentbackendlogic.perf;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+/**
+ * Runs the JMH benchmarks and writes JSON results that can be diffed between
+ * commits (e.g. with the JMH visualizer or jq).
+ *
+ * mvn -Pperf test-compile exec:exec
+ *     -Dperf.main=com.doctorappointmentbackend.doctorappointmentbackendlogic.perf.BenchmarkRunner
+ *     -Dperf.args="-Dbench.include=ServiceBenchmarks -Dseed.users=10000"
+ *
+ * Options: bench.include (regex, default all), bench.result (default
+ * target/jmh-result.json), bench.forks, bench.warmup, bench.iterations,
+ * bench.seconds, bench.threads, and seed.* for the synthetic dataset.
+ */
+public final class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException {
+        PerfArgs.apply(args);
+
+        int seconds = Integer.getInteger("bench.seconds", 5);
+        ChainedOptionsBuilder options = new OptionsBuilder()
+                .include(System.getProperty("bench.include", ".*Benchmarks.*"))
+                .forks(Integer.getInteger("bench.forks", 1))
+                .warmupIterations(Integer.getInteger("bench.warmup", 3))
+                .warmupTime(TimeValue.seconds(seconds))
+                .measurementIterations(Integer.getInteger("bench.iterations", 5))
+                .measurementTime(TimeValue.seconds(seconds))
+                .threads(Integer.getInteger("bench.threads", 1))
+                .resultFormat(ResultFormatType.JSON)
+                .result(System.getProperty("bench.result", "target/jmh-result.json"));
+
+        // The seeded dataset is read inside the forked JVM
+        List<String> forwarded = new ArrayList<>();
+        System.getProperties().forEach((key, value) -> {
+            if (key.toString().startsWith("seed.")) {
+                forwarded.add("-D" + key + "=" + value);
+            }
+        });
+        if (!forwarded.isEmpty()) {
+            options.jvmArgsAppend(forwarded.toArray(String[]::new));
+        }
+
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,145 @@
+package com.doctorappointmentbackend.doctorappointmentbackendlogic.perf;
+
+import java.security.SecureRandom;
+import java.sql.Date;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationInitializer;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.DoctorappointmentbackendlogicApplication;
+
+/**
+ * Boots the real application on a random port against an in-memory H2
+ * (MySQL mode), seeding a synthetic dataset right after the Flyway migration
+ * so the in-memory indexes and counters are built from it at startup.
+ *
+ * Every seeded user has the password {@link #PASSWORD}; appointments are
+ * PENDING, dealt round-robin to users and spread over the doctors on a
+ * 30-minute grid from 2030-01-01, so appointment n has id n + 1.
+ */
+final class EmbeddedApp implements AutoCloseable {
+
+    static final String PASSWORD = "password";
+    static final LocalDate FIRST_DAY = LocalDate.of(2030, 1, 1);
+    static final int SLOTS_PER_DAY = 16;
+
+    record Seed(int doctors, int users, int appointments) {
+    }
+
+    private final ConfigurableApplicationContext context;
+    private final SlowDataSource dataSource;
+
+    private EmbeddedApp(ConfigurableApplicationContext context, SlowDataSource dataSource) {
+        this.context = context;
+        this.dataSource = dataSource;
+    }
+
+    static EmbeddedApp start(String name, Seed seed, Map<String, String> overrides) {
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("server.port", "0");
+        properties.put("spring.datasource.url", "jdbc:h2:mem:" + name + ";MODE=MySQL;DB_CLOSE_DELAY=-1");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.jpa.database-platform", "org.hibernate.dialect.H2Dialect");
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("security.jwt.secret", randomSecret());
+        properties.put("spring.main.banner-mode", "off");
+        // Every simulated client shares one IP
+        properties.put("ratelimit.enabled", "false");
+        properties.put("logging.level.root", "WARN");
+        properties.putAll(overrides);
+
+        List<String> args = new ArrayList<>();
+        properties.forEach((key, value) -> args.add("--" + key + "=" + value));
+
+        SlowDataSource[] slow = new SlowDataSource[1];
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(DoctorappointmentbackendlogicApplication.class)
+                .initializers(ctx -> ctx.getBeanFactory().addBeanPostProcessor(new BeanPostProcessor() {
+                    @Override
+                    public Object postProcessAfterInitialization(Object bean, String beanName) {
+                        // The app-facing DataSource; with a replica, the pools behind it are typed beans
+                        if ("dataSource".equals(beanName) && bean instanceof DataSource raw) {
+                            slow[0] = new SlowDataSource(raw);
+                            return slow[0];
+                        }
+                        if (bean instanceof FlywayMigrationInitializer) {
+                            seed(slow[0], ctx.getBean(PasswordEncoder.class), seed);
+                        }
+                        return bean;
+                    }
+                }))
+                .run(args.toArray(String[]::new));
+
+        return new EmbeddedApp(context, slow[0]);
+    }
+
+    String baseUrl() {
+        return "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+    }
+
+    ConfigurableApplicationContext context() {
+        return context;
+    }
+
+    void setStatementDelayMillis(long millis) {
+        dataSource.setDelayMillis(millis);
+    }
+
+    static String email(String kind, int n) {
+        return kind + n + "@perf.local";
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+
+    private static void seed(DataSource dataSource, PasswordEncoder encoder, Seed seed) {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        String hash = encoder.encode(PASSWORD);
+
+        List<Object[]> doctors = new ArrayList<>();
+        for (int d = 1; d <= seed.doctors(); d++) {
+            doctors.add(new Object[] {"Doctor " + d, "Specialty " + (d % 8), "555-" + d, email("doctor", d)});
+        }
+        jdbc.batchUpdate("INSERT INTO doctors (name, specialization, phone, email) VALUES (?, ?, ?, ?)", doctors);
+
+        List<Object[]> users = new ArrayList<>();
+        for (int u = 1; u <= seed.users(); u++) {
+            users.add(new Object[] {"User " + u, email("user", u), hash, "USER"});
+        }
+        jdbc.batchUpdate("INSERT INTO users (name, email, password, role) VALUES (?, ?, ?, ?)", users);
+
+        List<Object[]> appointments = new ArrayList<>();
+        for (int n = 0; n < seed.appointments(); n++) {
+            int user = n % seed.users() + 1;
+            int doctor = n % seed.doctors() + 1;
+            int slot = n / seed.doctors();
+            LocalDate date = FIRST_DAY.plusDays(slot / SLOTS_PER_DAY);
+            LocalTime time = LocalTime.of(9, 0).plusMinutes(30L * (slot % SLOTS_PER_DAY));
+            appointments.add(new Object[] {user, doctor, Date.valueOf(date), Time.valueOf(time)});
+        }
+        jdbc.batchUpdate("INSERT INTO appointments (user_id, doctor_id, appointment_date, appointment_time, "
+                + "status, slot_held, version) VALUES (?, ?, ?, ?, 0, TRUE, 0)", appointments);
+    }
+
+    private static String randomSecret() {
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        return Base64.getEncoder().encodeToString(key);
+    }
+}
@@ -0,0 +1,121 @@
+package com.doctorappointmentbackend.doctorappointmentbackendlogic.perf;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.output.MigrateResult;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Checks that the hot queries are planned on the indexes the migrations add.
+ *
+ * First applies every migration to a plain H2 database (no MySQL mode), so a
+ * MySQL-only statement sneaking into db/migration fails here. Then boots the
+ * app on a seeded H2 (MySQL mode, as the other perf runs), runs ANALYZE and
+ * asserts that EXPLAIN of each hot query names its index. The statements
+ * mirror the WHERE / ORDER BY of the repository queries they stand for.
+ *
+ * H2's planner is not MySQL's, so this guards against a dropped or
+ * mis-ordered index rather than predicting production plans; run EXPLAIN on
+ * MySQL for that.
+ *
+ * mvn -Pperf test-compile exec:exec
+ *     -Dperf.main=com.doctorappointmentbackend.doctorappointmentbackendlogic.perf.IndexUsageCheck
+ */
+public final class IndexUsageCheck {
+
+    private static final EmbeddedApp.Seed SEED = new EmbeddedApp.Seed(
+            Integer.getInteger("seed.doctors", 50),
+            Integer.getInteger("seed.users", 2_000),
+            Integer.getInteger("seed.appointments", 50_000));
+
+    private IndexUsageCheck() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        PerfArgs.apply(args);
+        migratesWithoutMySqlMode();
+        try (EmbeddedApp app = EmbeddedApp.start("indexes", SEED, Map.of())) {
+            JdbcTemplate jdbc = new JdbcTemplate(app.context().getBean("dataSource", DataSource.class));
+            jdbc.execute("ANALYZE");
+            hotQueries().forEach((sql, index) -> usesIndex(jdbc, sql, index));
+        }
+        System.out.println("index usage: all checks passed");
+    }
+
+    private static void migratesWithoutMySqlMode() {
+        Flyway flyway = Flyway.configure()
+                .dataSource("jdbc:h2:mem:portable;DB_CLOSE_DELAY=-1", "sa", "")
+                .load();
+        MigrateResult result = flyway.migrate();
+        expect(result.success && result.migrationsExecuted == flyway.info().all().length,
+                "every migration applies to plain H2 (" + result.migrationsExecuted + " applied)");
+    }
+
+    // SQL -> index its plan must use
+    private static Map<String, String> hotQueries() {
+        String date = EmbeddedApp.FIRST_DAY.plusDays(3).toString();
+        Map<String, String> queries = new LinkedHashMap<>();
+        // DoctorRepository.findByEmail
+        queries.put("SELECT id FROM doctors WHERE email = '" + EmbeddedApp.email("doctor", 7) + "'",
+                "uk_doctors_email");
+        // AppointmentRepository.findPageByDoctorAfter
+        queries.put("SELECT id FROM appointments WHERE doctor_id = 3 AND (appointment_date > DATE '" + date + "' "
+                + "OR (appointment_date = DATE '" + date + "' AND appointment_time > TIME '10:00:00')) "
+                + "ORDER BY appointment_date, appointment_time, id LIMIT 51",
+                "uk_appointments_doctor_slot");
+        // Slot check on booking and AppointmentRepository.lockKeys (doctorId + date)
+        queries.put("SELECT id FROM appointments WHERE doctor_id = 3 AND appointment_date = DATE '" + date + "'",
+                "uk_appointments_doctor_slot");
+        // AppointmentRepository.findPageByUserAfter
+        queries.put("SELECT id FROM appointments WHERE user_id = 11 AND (appointment_date > DATE '" + date + "' "
+                + "OR (appointment_date = DATE '" + date + "' AND appointment_time > TIME '10:00:00')) "
+                + "ORDER BY appointment_date, appointment_time, id LIMIT 51",
+                "idx_appointments_user_date");
+        // AppointmentRepository.findChangedAfter
+        queries.put("SELECT id FROM appointments WHERE change_seq > 49000 AND change_seq <= 50000 "
+                + "ORDER BY change_seq, id LIMIT 51",
+                "idx_appointments_change_seq");
+        // AppointmentRepository.findChangedByUserAfter
+        queries.put("SELECT id FROM appointments WHERE user_id = 11 AND change_seq > 49000 AND change_seq <= 50000 "
+                + "ORDER BY change_seq, id LIMIT 51",
+                "idx_appointments_user_change");
+        // AppointmentRepository.findChangedByDoctorAfter
+        queries.put("SELECT id FROM appointments WHERE doctor_id = 3 AND change_seq > 49000 AND change_seq <= 50000 "
+                + "ORDER BY change_seq, id LIMIT 51",
+                "idx_appointments_doctor_change");
+        // AppointmentTombstoneRepository.findChangedAfter
+        queries.put("SELECT appointment_id FROM appointment_tombstones WHERE change_seq > 10 AND change_seq <= 20 "
+                + "ORDER BY change_seq, appointment_id LIMIT 51",
+                "idx_tombstones_change_seq");
+        // AppointmentRepository.lockKeysBefore (archiver)
+        queries.put("SELECT id FROM appointments WHERE appointment_date < DATE '" + EmbeddedApp.FIRST_DAY + "' "
+                + "ORDER BY appointment_date, id LIMIT 500",
+                "idx_appointments_date");
+        // ArchivedAppointmentRepository.findFirstPageByUser
+        queries.put("SELECT id FROM appointments_archive WHERE user_id = 11 "
+                + "ORDER BY appointment_date DESC, appointment_time DESC, id DESC LIMIT 51",
+                "idx_archive_user_date");
+        return queries;
+    }
+
+    private static void usesIndex(JdbcTemplate jdbc, String sql, String index) {
+        String plan = String.join("\n", jdbc.queryForList("EXPLAIN " + sql, String.class));
+        boolean used = plan.toUpperCase(Locale.ROOT).contains("." + index.toUpperCase(Locale.ROOT) + ":");
+        if (!used) {
+            System.out.println(plan);
+        }
+        expect(used, index + " serves: " + sql);
+    }
+
+    private static void expect(boolean condition, String description) {
+        if (!condition) {
+            throw new AssertionError("index usage: expected " + description);
+        }
+        System.out.println("ok - " + description);
+    }
+}
@@ -0,0 +1,378 @@
+package com.doctorappointmentbackend.doctorappointmentbackendlogic.perf;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramLogWriter;
+import org.HdrHistogram.Recorder;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Open-model load generator for the whole HTTP surface.
+ *
+ * Requests are started on a fixed schedule ({@code -Dload.rate} per second,
+ * exponential inter-arrival times) regardless of how fast the server answers,
+ * and latency is measured from each request's intended start, so a stalled
+ * server shows up as latency instead of silently lowering the offered load.
+ *
+ * By default the app is booted on H2 and seeded with {@code -Dseed.doctors},
+ * {@code -Dseed.users} and {@code -Dseed.appointments}; {@code -Dload.target}
+ * points it at an already running instance instead (seeded the same way).
+ * The mix is a weight per operation, e.g.
+ * {@code -Dload.mix=login:5,doctors:25,book:15,byUser:25,byDoctor:20,approve:5,reject:5}.
+ *
+ * Results go to stdout and to {@code -Dload.out} (default target/load):
+ * one .hgrm percentile distribution per operation, and latency.hlog with
+ * per-second interval histograms tagged by operation for tracking over time.
+ */
+public final class LoadGenerator {
+
+    private static final String DEFAULT_MIX = "login:5,doctors:25,book:15,byUser:25,byDoctor:20,approve:5,reject:5";
+    private static final LocalDate BOOKING_DAY = LocalDate.of(2035, 1, 1);
+    private static final int BOOKING_DAYS = 365;
+    private static final long HIGHEST_LATENCY = TimeUnit.MINUTES.toNanos(2);
+
+    enum Operation {
+        LOGIN("login", "POST /user/login"),
+        DOCTORS("doctors", "GET /doctor"),
+        BOOK("book", "POST /appointment/book"),
+        BY_USER("byUser", "GET /appointment/user/{id}"),
+        BY_DOCTOR("byDoctor", "GET /appointment/doctor/{id}"),
+        APPROVE("approve", "PUT /appointment/approve/{id}"),
+        REJECT("reject", "PUT /appointment/reject/{id}");
+
+        final String key;
+        final String label;
+
+        Operation(String key, String label) {
+            this.key = key;
+            this.label = label;
+        }
+    }
+
+    private final String baseUrl;
+    private final EmbeddedApp.Seed seed;
+    private final HttpClient http;
+    private final ObjectMapper json = new ObjectMapper();
+    private final Operation[] wheel;
+    private final Semaphore inFlight;
+    private final int maxInFlight;
+
+    private final Map<Operation, Stats> stats = new EnumMap<>(Operation.class);
+    private final ConcurrentLinkedQueue<Long> pending = new ConcurrentLinkedQueue<>();
+    private final LongAdder dropped = new LongAdder();
+
+    private volatile boolean recording;
+
+    private LoadGenerator(String baseUrl, EmbeddedApp.Seed seed, Operation[] wheel, int maxInFlight,
+                          ExecutorService callbacks) {
+        this.baseUrl = baseUrl;
+        this.seed = seed;
+        this.wheel = wheel;
+        this.inFlight = new Semaphore(maxInFlight);
+        this.maxInFlight = maxInFlight;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(callbacks)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        for (Operation operation : Operation.values()) {
+            stats.put(operation, new Stats());
+        }
+        // Seeded appointments are all PENDING with ids 1..K
+        for (long id = 1; id <= seed.appointments(); id++) {
+            pending.add(id);
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        PerfArgs.apply(args);
+
+        EmbeddedApp.Seed seed = new EmbeddedApp.Seed(
+                Integer.getInteger("seed.doctors", 100),
+                Integer.getInteger("seed.users", 5000),
+                Integer.getInteger("seed.appointments", 20000));
+        double rate = Double.parseDouble(System.getProperty("load.rate", "200"));
+        int seconds = Integer.getInteger("load.seconds", 60);
+        int warmup = Integer.getInteger("load.warmup", 10);
+        int maxInFlight = Integer.getInteger("load.max-in-flight", 5000);
+        Path out = Path.of(System.getProperty("load.out", "target/load"));
+        Operation[] wheel = parseMix(System.getProperty("load.mix", DEFAULT_MIX));
+        String target = System.getProperty("load.target");
+
+        EmbeddedApp app = target == null ? EmbeddedApp.start("load", seed, Map.of()) : null;
+        String baseUrl = target != null ? target : app.baseUrl();
+        ExecutorService callbacks = Executors.newFixedThreadPool(4);
+
+        try {
+            LoadGenerator generator = new LoadGenerator(baseUrl, seed, wheel, maxInFlight, callbacks);
+            System.out.printf("target=%s rate=%.0f/s duration=%ds warmup=%ds seed=%s%n",
+                    baseUrl, rate, seconds, warmup, seed);
+            generator.run(rate, warmup, seconds, out);
+        } finally {
+            callbacks.shutdownNow();
+            if (app != null) {
+                app.close();
+            }
+        }
+    }
+
+    private void run(double rate, int warmupSeconds, int seconds, Path out)
+            throws IOException, InterruptedException {
+        Files.createDirectories(out);
+        try (PrintStream logStream = new PrintStream(Files.newOutputStream(out.resolve("latency.hlog")))) {
+            HistogramLogWriter log = new HistogramLogWriter(logStream);
+            long startMillis = System.currentTimeMillis();
+            log.outputLogFormatVersion();
+            log.outputStartTime(startMillis);
+            log.setBaseTime(startMillis);
+            log.outputLegend();
+
+            long meanGapNanos = (long) (1_000_000_000L / rate);
+            long now = System.nanoTime();
+            long warmupEnd = now + TimeUnit.SECONDS.toNanos(warmupSeconds);
+            long end = warmupEnd + TimeUnit.SECONDS.toNanos(seconds);
+            long nextInterval = warmupEnd + TimeUnit.SECONDS.toNanos(1);
+            long intended = now;
+
+            while (intended < end) {
+                long wait = intended - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                if (!recording && intended >= warmupEnd) {
+                    recording = true;
+                    for (Stats s : stats.values()) {
+                        s.reset();
+                    }
+                }
+                if (recording && System.nanoTime() >= nextInterval) {
+                    writeInterval(log);
+                    nextInterval += TimeUnit.SECONDS.toNanos(1);
+                }
+                fire(wheel[ThreadLocalRandom.current().nextInt(wheel.length)], intended);
+
+                double exponential = -Math.log(1 - ThreadLocalRandom.current().nextDouble());
+                intended += (long) (meanGapNanos * exponential);
+            }
+
+            // Let stragglers finish so they are counted, then close the last interval
+            waitForDrain(Duration.ofSeconds(30));
+            recording = false;
+            writeInterval(log);
+        }
+        report(seconds, out);
+    }
+
+    private void fire(Operation operation, long intendedStart) {
+        if (!inFlight.tryAcquire()) {
+            // Client-side saturation; counted rather than allowed to distort the schedule
+            dropped.increment();
+            return;
+        }
+        HttpRequest request = request(operation);
+        boolean recorded = recording;
+        http.sendAsync(request, HttpResponse.BodyHandlers.ofString())
+                .whenComplete((response, error) -> {
+                    try {
+                        if (recorded) {
+                            stats.get(operation).record(System.nanoTime() - intendedStart,
+                                    error == null ? response.statusCode() : -1);
+                        }
+                        if (error == null && operation == Operation.BOOK && response.statusCode() == 200) {
+                            rememberPending(response.body());
+                        }
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+    }
+
+    private HttpRequest request(Operation operation) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int user = random.nextInt(seed.users()) + 1;
+        int doctor = random.nextInt(seed.doctors()) + 1;
+
+        switch (operation) {
+            case LOGIN:
+                return post("/user/login", "{\"email\":\"" + EmbeddedApp.email("user", user)
+                        + "\",\"password\":\"" + EmbeddedApp.PASSWORD + "\"}");
+            case DOCTORS:
+                return get("/doctor");
+            case BY_USER:
+                return get("/appointment/user/" + user);
+            case BY_DOCTOR:
+                return get("/appointment/doctor/" + doctor);
+            case APPROVE:
+            case REJECT:
+                Long id = pending.poll();
+                if (id != null) {
+                    String verb = operation == Operation.APPROVE ? "approve" : "reject";
+                    return HttpRequest.newBuilder(URI.create(baseUrl + "/appointment/" + verb + "/" + id))
+                            .PUT(HttpRequest.BodyPublishers.noBody())
+                            .timeout(Duration.ofMinutes(1))
+                            .build();
+                }
+                // Nothing pending yet: fall through and create some work instead
+            case BOOK:
+            default:
+                LocalDate date = BOOKING_DAY.plusDays(random.nextInt(BOOKING_DAYS));
+                LocalTime time = LocalTime.of(9, 0).plusMinutes(30L * random.nextInt(EmbeddedApp.SLOTS_PER_DAY));
+                return post("/appointment/book", "{\"userId\":" + user + ",\"doctorId\":" + doctor
+                        + ",\"date\":\"" + date + "\",\"time\":\"" + time + "\"}");
+        }
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofMinutes(1))
+                .build();
+    }
+
+    private HttpRequest post(String path, String body) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .timeout(Duration.ofMinutes(1))
+                .build();
+    }
+
+    private void rememberPending(String body) {
+        try {
+            JsonNode node = json.readTree(body);
+            pending.add(node.get("id").asLong());
+        } catch (IOException | NullPointerException ignored) {
+            // unexpected body; the appointment just won't be approved/rejected
+        }
+    }
+
+    private void waitForDrain(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (inFlight.availablePermits() < maxInFlight
+                && System.nanoTime() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(50);
+        }
+    }
+
+    private void writeInterval(HistogramLogWriter log) {
+        for (Operation operation : Operation.values()) {
+            Histogram interval = stats.get(operation).interval();
+            if (interval.getTotalCount() > 0) {
+                interval.setTag(operation.key);
+                log.outputIntervalHistogram(interval);
+            }
+        }
+    }
+
+    private void report(int seconds, Path out) throws IOException {
+        System.out.printf("%n%-30s %9s %8s %8s %8s %9s %9s %9s %9s%n",
+                "operation", "req/s", "2xx", "4xx", "5xx/err", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        for (Operation operation : Operation.values()) {
+            Stats s = stats.get(operation);
+            Histogram total = s.total;
+            if (total.getTotalCount() == 0) {
+                continue;
+            }
+            System.out.printf("%-30s %9.1f %8d %8d %8d %9.1f %9.1f %9.1f %9.1f%n",
+                    operation.label,
+                    (double) total.getTotalCount() / seconds,
+                    s.ok.sum(), s.clientErrors.sum(), s.serverErrors.sum(),
+                    millis(total.getValueAtPercentile(50)),
+                    millis(total.getValueAtPercentile(99)),
+                    millis(total.getValueAtPercentile(99.9)),
+                    millis(total.getMaxValue()));
+
+            try (PrintStream hgrm = new PrintStream(Files.newOutputStream(out.resolve(operation.key + ".hgrm")))) {
+                total.outputPercentileDistribution(hgrm, 1_000_000.0);
+            }
+        }
+        System.out.printf("%ndropped (client in-flight limit): %d%nhistograms: %s%n",
+                dropped.sum(), out.toAbsolutePath());
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static Operation[] parseMix(String mix) {
+        List<Operation> wheel = new ArrayList<>();
+        for (String part : mix.split(",")) {
+            String[] kv = part.trim().split(":");
+            Operation operation = null;
+            for (Operation candidate : Operation.values()) {
+                if (candidate.key.equalsIgnoreCase(kv[0].trim())) {
+                    operation = candidate;
+                }
+            }
+            if (operation == null || kv.length != 2) {
+                throw new IllegalArgumentException("Bad load.mix entry: " + part);
+            }
+            for (int i = Integer.parseInt(kv[1].trim()); i > 0; i--) {
+                wheel.add(operation);
+            }
+        }
+        if (wheel.isEmpty()) {
+            throw new IllegalArgumentException("load.mix has no weight");
+        }
+        return wheel.toArray(Operation[]::new);
+    }
+
+    private static final class Stats {
+
+        private final Recorder recorder = new Recorder(HIGHEST_LATENCY, 3);
+        private final Histogram total = new Histogram(HIGHEST_LATENCY, 3);
+        private final LongAdder ok = new LongAdder();
+        private final LongAdder clientErrors = new LongAdder();
+        private final LongAdder serverErrors = new LongAdder();
+
+        void record(long nanos, int status) {
+            recorder.recordValue(Math.min(nanos, HIGHEST_LATENCY));
+            if (status >= 200 && status < 300) {
+                ok.increment();
+            } else if (status >= 400 && status < 500) {
+                clientErrors.increment();
+            } else {
+                serverErrors.increment();
+            }
+        }
+
+        // Only called from the scheduler thread
+        Histogram interval() {
+            Histogram interval = recorder.getIntervalHistogram();
+            total.add(interval);
+            return interval;
+        }
+
+        void reset() {
+            recorder.reset();
+            total.reset();
+            ok.reset();
+            clientErrors.reset();
+            serverErrors.reset();
+        }
+    }
+}
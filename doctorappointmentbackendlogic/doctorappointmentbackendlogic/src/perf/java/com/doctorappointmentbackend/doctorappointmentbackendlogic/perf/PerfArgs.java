@@ -0,0 +1,17 @@
+package com.doctorappointmentbackend.doctorappointmentbackendlogic.perf;
+
+// exec:exec passes perf.args as program arguments; -Dkey=value ones become system properties
+final class PerfArgs {
+
+    private PerfArgs() {
+    }
+
+    static void apply(String[] args) {
+        for (String arg : args) {
+            if (arg.startsWith("-D") && arg.contains("=")) {
+                int eq = arg.indexOf('=');
+                System.setProperty(arg.substring(2, eq), arg.substring(eq + 1));
+            }
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.doctorappointmentbackend.doctorappointmentbackendlogic.perf;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Read/write routing against two embedded H2 databases.
+ *
+ * The replica is migrated but never seeded and never replicated to, so a
+ * read's row count shows which database served it: the seeded primary, or
+ * the empty replica. Walks through replica reads, read-your-writes (pin
+ * cookie and fresh ETag counters), the end of the pin window and the
+ * fallback when the replica pool is gone. Exits non-zero on the first
+ * failed expectation.
+ *
+ * mvn -Pperf test-compile exec:exec
+ *     -Dperf.main=com.doctorappointmentbackend.doctorappointmentbackendlogic.perf.ReadRoutingCheck
+ */
+public final class ReadRoutingCheck {
+
+    private static final EmbeddedApp.Seed SEED = new EmbeddedApp.Seed(4, 4, 16);
+    private static final Duration WINDOW = Duration.ofSeconds(2);
+    private static final ObjectMapper JSON = new ObjectMapper();
+
+    private final HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final String baseUrl;
+
+    private ReadRoutingCheck(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    public static void main(String[] args) throws Exception {
+        PerfArgs.apply(args);
+        try (EmbeddedApp app = EmbeddedApp.start("routing", SEED, Map.of(
+                "db.replica.jdbc-url", "jdbc:h2:mem:routing-replica;MODE=MySQL;DB_CLOSE_DELAY=-1",
+                "db.replica.username", "sa",
+                "db.replica.password", "",
+                "db.routing.migrate-replica", "true",
+                "db.routing.read-your-writes", WINDOW.toString(),
+                "db.routing.retry-after", "PT1M"))) {
+            new ReadRoutingCheck(app.baseUrl()).run(app);
+        }
+        System.out.println("read routing: all checks passed");
+    }
+
+    private void run(EmbeddedApp app) throws Exception {
+        MeterRegistry meters = app.context().getBean(MeterRegistry.class);
+        // User 1 holds every SEED.users()-th seeded appointment
+        int seeded = SEED.appointments() / SEED.users();
+
+        // Nobody has written yet: a plain read is served by the empty replica
+        double replicaBefore = counter(meters, "db.routing.connections", "replica");
+        expect(rows(get("/appointment/user/1", null)) == 0, "an anonymous read goes to the replica");
+        expect(counter(meters, "db.routing.connections", "replica") > replicaBefore, "the replica pool handed out the connection");
+
+        // The writer gets a pin cookie, and its next read sees the write
+        HttpResponse<String> booked = post("/appointment/book",
+                "{\"userId\":1,\"doctorId\":1,\"date\":\"2031-01-07\",\"time\":\"10:00\"}");
+        expect(booked.statusCode() == 200, "booking succeeds (status " + booked.statusCode() + ")");
+        String pin = booked.headers().firstValue("Set-Cookie").map(cookie -> cookie.split(";", 2)[0]).orElse(null);
+        expect(pin != null && pin.startsWith("db-primary-until="), "a write sets the pin cookie");
+        expect(rows(get("/appointment/user/1", pin)) == seeded + 1, "the writer reads its own write from the primary");
+
+        // Another client right after the write: the list's counters just moved, so it reads the primary too
+        expect(rows(get("/appointment/user/1", null)) == seeded + 1, "a fresh ETag is never served from the replica");
+
+        // Once the window has passed, both are back on the (lagging) replica
+        Thread.sleep(WINDOW.toMillis() + 500);
+        expect(rows(get("/appointment/user/1", pin)) == 0, "the pin expires after the read-your-writes window");
+
+        // Replica gone: reads fall back to the primary instead of failing
+        app.context().getBean("replicaDataSource", HikariDataSource.class).close();
+        expect(rows(get("/appointment/user/1", null)) == seeded + 1, "reads fall back to the primary");
+        expect(counter(meters, "db.routing.fallbacks", null) == 1, "the fallback is counted once");
+        expect(rows(get("/appointment/user/1", null)) == seeded + 1, "the replica is skipped while marked down");
+        expect(counter(meters, "db.routing.fallbacks", null) == 1, "no second connection attempt while it is down");
+    }
+
+    private String get(String path, String cookie) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + path));
+        if (cookie != null) {
+            request.header("Cookie", cookie);
+        }
+        HttpResponse<String> response = http.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new AssertionError("read routing: GET " + path + " answered " + response.statusCode());
+        }
+        return response.body();
+    }
+
+    private HttpResponse<String> post(String path, String body) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+        return http.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static int rows(String body) throws Exception {
+        return JSON.readTree(body).size();
+    }
+
+    private static double counter(MeterRegistry meters, String name, String target) {
+        var search = meters.find(name);
+        if (target != null) {
+            search = search.tag("target", target);
+        }
+        return search.counter() == null ? 0 : search.counter().count();
+    }
+
+    private static void expect(boolean condition, String description) {
+        if (!condition) {
+            throw new AssertionError("read routing: expected " + description);
+        }
+        System.out.println("ok - " + description);
+    }
+}
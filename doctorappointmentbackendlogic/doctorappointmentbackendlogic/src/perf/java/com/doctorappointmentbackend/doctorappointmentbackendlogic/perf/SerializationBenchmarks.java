@@ -0,0 +1,62 @@
+package com.doctorappointmentbackend.doctorappointmentbackendlogic.perf;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.AppointmentViewDTO;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.model.AppointmentStatus;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+/**
+ * JSON serialization of appointment lists as the list endpoints return them,
+ * using an ObjectMapper built with the same defaults Spring Boot applies.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class SerializationBenchmarks {
+
+    @Param({"1000", "10000", "100000"})
+    public int rows;
+
+    private ObjectWriter writer;
+    private List<AppointmentViewDTO> appointments;
+
+    @Setup
+    public void setUp() {
+        writer = Jackson2ObjectMapperBuilder.json().build().writer();
+
+        AppointmentStatus[] statuses = AppointmentStatus.values();
+        appointments = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            long doctor = i % 50 + 1;
+            long user = i % 2000 + 1;
+            appointments.add(new AppointmentViewDTO(
+                    (long) i + 1,
+                    EmbeddedApp.FIRST_DAY.plusDays(i / 800),
+                    LocalTime.of(9, 0).plusMinutes(30L * (i % EmbeddedApp.SLOTS_PER_DAY)),
+                    statuses[i % statuses.length],
+                    doctor, "Doctor " + doctor, EmbeddedApp.email("doctor", (int) doctor), "Specialty " + doctor % 8,
+                    user, "User " + user, EmbeddedApp.email("user", (int) user)));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeAppointmentViews() throws JsonProcessingException {
+        return writer.writeValueAsBytes(appointments);
+    }
+}
@@ -0,0 +1,128 @@
+package com.doctorappointmentbackend.doctorappointmentbackendlogic.perf;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.AppointmentViewDTO;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.CursorPageDTO;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.LoginResponseDTO;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.model.Doctor;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.service.AppointmentService;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.service.DoctorService;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.service.UserService;
+
+/**
+ * Service-level hot paths against the app booted on H2 with a synthetic
+ * dataset. Dataset size comes from -Dseed.doctors, -Dseed.users and
+ * -Dseed.appointments (forwarded to the fork by BenchmarkRunner).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ServiceBenchmarks {
+
+    // Bookings made by the benchmarks start here, clear of the seeded grid
+    private static final LocalDate BOOKING_DAY = LocalDate.of(2040, 1, 1);
+
+    @State(Scope.Benchmark)
+    public static class App {
+
+        EmbeddedApp app;
+        AppointmentService appointments;
+        DoctorService doctors;
+        UserService users;
+        EmbeddedApp.Seed seed;
+
+        private final AtomicLong nextSlot = new AtomicLong();
+
+        @Setup(Level.Trial)
+        public void start() {
+            seed = new EmbeddedApp.Seed(
+                    Integer.getInteger("seed.doctors", 50),
+                    Integer.getInteger("seed.users", 2000),
+                    Integer.getInteger("seed.appointments", 10000));
+            app = EmbeddedApp.start("jmh", seed, Map.of());
+            appointments = app.context().getBean(AppointmentService.class);
+            doctors = app.context().getBean(DoctorService.class);
+            users = app.context().getBean(UserService.class);
+        }
+
+        @TearDown(Level.Trial)
+        public void stop() {
+            app.close();
+        }
+
+        AppointmentViewDTO bookFreshSlot() {
+            long n = nextSlot.getAndIncrement();
+            long slot = n / seed.doctors();
+            return appointments.bookAppointment(
+                    randomUser(),
+                    n % seed.doctors() + 1,
+                    BOOKING_DAY.plusDays(slot / EmbeddedApp.SLOTS_PER_DAY),
+                    LocalTime.of(9, 0).plusMinutes(30 * (slot % EmbeddedApp.SLOTS_PER_DAY)));
+        }
+
+        long randomUser() {
+            return ThreadLocalRandom.current().nextInt(seed.users()) + 1;
+        }
+
+        long randomDoctor() {
+            return ThreadLocalRandom.current().nextInt(seed.doctors()) + 1;
+        }
+    }
+
+    // Each approve needs its own PENDING appointment, booked outside the measurement
+    @State(Scope.Thread)
+    public static class PendingAppointment {
+
+        Long id;
+
+        @Setup(Level.Invocation)
+        public void book(App app) {
+            id = app.bookFreshSlot().getId();
+        }
+    }
+
+    @Benchmark
+    public AppointmentViewDTO bookAppointment(App app) {
+        return app.bookFreshSlot();
+    }
+
+    @Benchmark
+    public AppointmentViewDTO approve(App app, PendingAppointment pending) {
+        return app.appointments.approve(pending.id);
+    }
+
+    @Benchmark
+    public List<AppointmentViewDTO> getAppointmentsByDoctor(App app) {
+        return app.appointments.getAppointmentsByDoctor(app.randomDoctor());
+    }
+
+    // Name prefix within one specialization, answered from the in-memory index
+    @Benchmark
+    public CursorPageDTO<Doctor> searchDoctors(App app) {
+        long doctor = app.randomDoctor();
+        return app.doctors.searchDoctors("Specialty " + (doctor % 8), "doc " + doctor / 10, null, 20);
+    }
+
+    // Dominated by bcrypt at the calibrated cost
+    @Benchmark
+    public LoginResponseDTO login(App app) {
+        int user = (int) app.randomUser();
+        return app.users.login(EmbeddedApp.email("user", user), EmbeddedApp.PASSWORD).join();
+    }
+}
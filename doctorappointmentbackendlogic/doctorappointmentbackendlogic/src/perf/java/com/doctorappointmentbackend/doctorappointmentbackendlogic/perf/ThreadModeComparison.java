@@ -0,0 +1,188 @@
+package com.doctorappointmentbackend.doctorappointmentbackendlogic.perf;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Platform threads vs virtual threads (+ DB bulkhead) under a slow database.
+ *
+ * Each mode boots the app on H2 with every SQL statement delayed by
+ * {@code -Ddb.delay.ms}, then drives a closed loop of {@code -Dclients}
+ * concurrent HTTP clients for {@code -Dseconds}: half of the requests hit a
+ * cached read (GET /doctor/{id}), half a DB-bound read
+ * (GET /appointment/user/{id}). The interesting number is the cached
+ * endpoint's latency, which in platform mode suffers from Tomcat threads
+ * being parked on the connection pool.
+ *
+ * Needs a Java 21 runtime:
+ * mvn -Pperf test-compile exec:exec -Dperf.java=/path/to/jdk-21/bin/java
+ *     -Dperf.args="-Dclients=400 -Dseconds=20 -Ddb.delay.ms=20"
+ * (system properties may also be passed through perf.args)
+ */
+public final class ThreadModeComparison {
+
+    private static final EmbeddedApp.Seed SEED = new EmbeddedApp.Seed(50, 2000, 6000);
+
+    public static void main(String[] args) throws Exception {
+        if (Runtime.version().feature() < 21) {
+            System.err.println("Virtual threads need a Java 21 runtime; run with -Dperf.java=<jdk-21>/bin/java");
+            System.exit(1);
+        }
+        PerfArgs.apply(args);
+
+        int clients = Integer.getInteger("clients", 400);
+        int seconds = Integer.getInteger("seconds", 20);
+        int warmup = Integer.getInteger("warmup", 5);
+        long delay = Long.getLong("db.delay.ms", 20);
+
+        System.out.printf("clients=%d duration=%ds warmup=%ds statement delay=%dms%n%n",
+                clients, seconds, warmup, delay);
+
+        for (boolean virtual : new boolean[] {false, true}) {
+            String mode = virtual ? "virtual" : "platform";
+            try (EmbeddedApp app = EmbeddedApp.start("threads-" + mode, SEED, Map.of(
+                    "spring.threads.virtual.enabled", String.valueOf(virtual),
+                    "db.bulkhead.enabled", String.valueOf(virtual)))) {
+                app.setStatementDelayMillis(delay);
+                Result result = drive(app.baseUrl(), clients, warmup, seconds);
+                result.print(mode);
+            }
+        }
+    }
+
+    private static Result drive(String baseUrl, int clients, int warmupSeconds, int seconds)
+            throws InterruptedException {
+        ExecutorService callbacks = Executors.newFixedThreadPool(4);
+        HttpClient http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .executor(callbacks)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+
+        Result result = new Result(seconds);
+        Loop loop = new Loop(http, baseUrl, result, clients);
+
+        for (int i = 0; i < clients; i++) {
+            loop.next();
+        }
+        TimeUnit.SECONDS.sleep(warmupSeconds);
+        result.recording = true;
+        TimeUnit.SECONDS.sleep(seconds);
+        result.recording = false;
+        loop.stopping = true;
+
+        loop.finished.await(60, TimeUnit.SECONDS);
+        callbacks.shutdownNow();
+        return result;
+    }
+
+    private static final class Loop {
+
+        private final HttpClient http;
+        private final String baseUrl;
+        private final Result result;
+        private final CountDownLatch finished;
+        private volatile boolean stopping;
+
+        Loop(HttpClient http, String baseUrl, Result result, int clients) {
+            this.http = http;
+            this.baseUrl = baseUrl;
+            this.result = result;
+            this.finished = new CountDownLatch(clients);
+        }
+
+        void next() {
+            if (stopping) {
+                finished.countDown();
+                return;
+            }
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            boolean cached = random.nextBoolean();
+            String path = cached
+                    ? "/doctor/" + (random.nextInt(SEED.doctors()) + 1)
+                    : "/appointment/user/" + (random.nextInt(SEED.users()) + 1);
+            HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .timeout(Duration.ofSeconds(60))
+                    .build();
+
+            long start = System.nanoTime();
+            http.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        boolean ok = error == null && response.statusCode() == 200;
+                        if (result.recording) {
+                            (cached ? result.cached : result.database).record(System.nanoTime() - start, ok);
+                        }
+                        next();
+                    });
+        }
+    }
+
+    private static final class Result {
+
+        private final int seconds;
+        private final Series cached = new Series();
+        private final Series database = new Series();
+        private volatile boolean recording;
+
+        Result(int seconds) {
+            this.seconds = seconds;
+        }
+
+        void print(String mode) {
+            System.out.printf("%-9s %-20s %10s %9s %9s %9s %9s %7s%n",
+                    "mode", "endpoint", "req/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms", "errors");
+            cached.print(mode, "GET /doctor/{id}", seconds);
+            database.print(mode, "GET /appointment/user", seconds);
+            System.out.println();
+        }
+    }
+
+    private static final class Series {
+
+        private static final int CAPACITY = 4_000_000;
+
+        private final long[] samples = new long[CAPACITY];
+        private final AtomicInteger count = new AtomicInteger();
+        private final LongAdder errors = new LongAdder();
+
+        void record(long nanos, boolean ok) {
+            if (!ok) {
+                errors.increment();
+            }
+            int index = count.getAndIncrement();
+            if (index < CAPACITY) {
+                samples[index] = nanos;
+            }
+        }
+
+        void print(String mode, String endpoint, int seconds) {
+            int n = Math.min(count.get(), CAPACITY);
+            long[] sorted = Arrays.copyOf(samples, n);
+            Arrays.sort(sorted);
+            System.out.printf("%-9s %-20s %10.0f %9.1f %9.1f %9.1f %9.1f %7d%n",
+                    mode, endpoint, (double) count.get() / seconds,
+                    percentile(sorted, 0.50), percentile(sorted, 0.99), percentile(sorted, 0.999),
+                    n == 0 ? 0 : sorted[n - 1] / 1e6, errors.sum());
+        }
+
+        private static double percentile(long[] sorted, double p) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.min(sorted.length - 1, Math.ceil(p * sorted.length) - 1);
+            return sorted[Math.max(index, 0)] / 1e6;
+        }
+    }
+}
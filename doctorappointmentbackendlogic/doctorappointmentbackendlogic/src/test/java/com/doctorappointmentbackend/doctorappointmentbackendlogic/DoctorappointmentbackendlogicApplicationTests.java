@@ -1,8 +1,283 @@
 package com.doctorappointmentbackend.doctorappointmentbackendlogic;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.dto.AppointmentViewDTO;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.exception.BadRequestException;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.index.SlotOccupancyIndex;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.model.AppointmentStatus;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.model.AppointmentStatusConverter;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.pagination.KeysetCursors;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.ratelimit.TokenBucket;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.serviceimpl.AppointmentServiceImpl;
+import com.doctorappointmentbackend.doctorappointmentbackendlogic.sync.ChangeSequence;
+
+/**
+ * Checks for the pieces that need neither Spring nor a database. Exits
+ * non-zero on the first failed expectation.
+ *
+ * mvn -Pperf test-compile exec:exec
+ *     -Dperf.main=com.doctorappointmentbackend.doctorappointmentbackendlogic.DoctorappointmentbackendlogicApplicationTests
+ */
 public class DoctorappointmentbackendlogicApplicationTests {
 
-    public static void main(String[] args) {
-        System.out.println("Test class loaded successfully");
+    public static void main(String[] args) throws Exception {
+        keysetCursors();
+        slotOccupancy();
+        statusTransitions();
+        changeSequence();
+        tokenBucket();
+        bookingInput();
+        System.out.println("all checks passed");
+    }
+
+    // ================= CURSORS =================
+
+    private static void keysetCursors() {
+        AppointmentViewDTO view = new AppointmentViewDTO(42L, LocalDate.of(2031, 1, 7), LocalTime.of(9, 30),
+                AppointmentStatus.PENDING, 3L, null, null, null, 11L, null, null);
+        KeysetCursors.AppointmentKey key = KeysetCursors.decodeAppointment(KeysetCursors.encode(view));
+        expect(key.equals(new KeysetCursors.AppointmentKey(LocalDate.of(2031, 1, 7), LocalTime.of(9, 30), 42L)),
+                "an appointment cursor decodes to its (date, time, id)");
+
+        expect(KeysetCursors.decodeChange(KeysetCursors.encodeChange(120, 42, 100))
+                        .equals(new KeysetCursors.ChangeKey(120, 42, 100)),
+                "a change cursor decodes to its (seq, id, floor)");
+        expect(KeysetCursors.decodeChange(null).equals(new KeysetCursors.ChangeKey(0, 0, 0))
+                        && KeysetCursors.decodeChange(" ").equals(new KeysetCursors.ChangeKey(0, 0, 0)),
+                "a missing change cursor starts the feed from the beginning");
+        String legacy = Base64.getUrlEncoder().withoutPadding()
+                .encodeToString("120|42".getBytes(StandardCharsets.UTF_8));
+        expect(KeysetCursors.decodeChange(legacy).equals(new KeysetCursors.ChangeKey(120, 42, 0)),
+                "a change cursor from before floors decodes with floor 0");
+
+        expect(KeysetCursors.decodeId(null) == 0 && KeysetCursors.decodeId("17") == 17,
+                "an id cursor is the last id, or 0 when missing");
+
+        expect(rejected(() -> KeysetCursors.decodeAppointment("not a cursor")), "a garbled appointment cursor is a 400");
+        expect(rejected(() -> KeysetCursors.decodeAppointment(KeysetCursors.encodeChange(1, 2, 3))),
+                "a change cursor is not accepted as an appointment cursor");
+        expect(rejected(() -> KeysetCursors.decodeChange("%%%")), "a garbled change cursor is a 400");
+        expect(rejected(() -> KeysetCursors.decodeId("abc")), "a non-numeric id cursor is a 400");
+
+        expect(KeysetCursors.clampLimit(null) == KeysetCursors.DEFAULT_LIMIT
+                        && KeysetCursors.clampLimit(0) == KeysetCursors.DEFAULT_LIMIT
+                        && KeysetCursors.clampLimit(10_000) == KeysetCursors.MAX_LIMIT,
+                "page limits fall back to the default and are capped");
+    }
+
+    // ================= SLOT OCCUPANCY =================
+
+    // Built without its repository: nothing is preloaded
+    private static void slotOccupancy() throws Exception {
+        SlotOccupancyIndex slots = new SlotOccupancyIndex(null);
+        LocalDate day = LocalDate.of(2031, 1, 7);
+
+        expect(slots.tryReserve(3L, day, LocalTime.of(10, 0)), "a free slot can be reserved");
+        expect(!slots.tryReserve(3L, day, LocalTime.of(10, 0)), "a held slot cannot be reserved again");
+        expect(slots.tryReserve(4L, day, LocalTime.of(10, 0)) && slots.tryReserve(3L, day.plusDays(1), LocalTime.of(10, 0)),
+                "the same time is separate for another doctor or day");
+
+        slots.release(3L, day, LocalTime.of(10, 0));
+        expect(!slots.isHeld(3L, day, LocalTime.of(10, 0)) && slots.tryReserve(3L, day, LocalTime.of(10, 0)),
+                "a released slot can be reserved again");
+        slots.release(3L, day, LocalTime.of(11, 0));
+        slots.release(9L, day, LocalTime.of(11, 0));
+        expect(slots.isHeld(3L, day, LocalTime.of(10, 0)), "releasing a slot that is not held changes nothing");
+
+        // 01:03 and 01:04 are minutes 63 and 64, either side of a word boundary
+        expect(slots.tryReserve(5L, day, LocalTime.of(1, 4)), "a slot just past a word boundary can be reserved");
+        expect(slots.isFree(5L, day, LocalTime.of(0, 30), 34) && !slots.isFree(5L, day, LocalTime.of(0, 30), 35),
+                "a range is free up to, and not including, the first held minute");
+        expect(slots.isFree(5L, day, LocalTime.of(1, 5), 60) && !slots.isFree(5L, day, LocalTime.of(1, 3), 2),
+                "a range across the word boundary sees the held minute");
+        expect(slots.isFree(5L, day, LocalTime.of(23, 30), 120), "a range past midnight is cut at the end of the day");
+        expect(slots.isFree(6L, day, LocalTime.of(0, 0), 24 * 60), "a day nobody booked is free");
+
+        expect(winners(16, () -> slots.tryReserve(7L, day, LocalTime.of(9, 0))) == 1,
+                "exactly one of several concurrent reservations of a slot wins");
+    }
+
+    // ================= STATUS TRANSITIONS =================
+
+    // The rules behind AppointmentRepository.compareAndSetStatus; the UPDATE itself needs a database
+    private static void statusTransitions() {
+        for (AppointmentStatus from : AppointmentStatus.values()) {
+            for (AppointmentStatus to : AppointmentStatus.values()) {
+                boolean legal = from == AppointmentStatus.PENDING && to != AppointmentStatus.PENDING;
+                expect(from.canTransitionTo(to) == legal,
+                        from + " -> " + to + (legal ? " is allowed" : " is refused"));
+            }
+        }
+        expect(AppointmentStatus.PENDING.holdsSlot() && AppointmentStatus.APPROVED.holdsSlot()
+                        && !AppointmentStatus.REJECTED.holdsSlot(),
+                "only a rejected appointment gives its slot back");
+
+        // The codes are persisted, so they must never move
+        AppointmentStatusConverter converter = new AppointmentStatusConverter();
+        expect(converter.convertToDatabaseColumn(AppointmentStatus.PENDING) == 0
+                        && converter.convertToDatabaseColumn(AppointmentStatus.APPROVED) == 1
+                        && converter.convertToDatabaseColumn(AppointmentStatus.REJECTED) == 2,
+                "status codes are 0 pending, 1 approved, 2 rejected");
+        for (AppointmentStatus status : AppointmentStatus.values()) {
+            expect(converter.convertToEntityAttribute(converter.convertToDatabaseColumn(status)) == status,
+                    status + " survives the column round-trip");
+        }
+        expect(converter.convertToDatabaseColumn(null) == null && converter.convertToEntityAttribute(null) == null,
+                "a null status stays null");
+        boolean refused;
+        try {
+            AppointmentStatus.fromCode((byte) 3);
+            refused = false;
+        } catch (IllegalArgumentException ex) {
+            refused = true;
+        }
+        expect(refused, "an unknown status code is refused");
+
+        AppointmentViewDTO pending = new AppointmentViewDTO(42L, LocalDate.of(2031, 1, 7), LocalTime.of(9, 30),
+                AppointmentStatus.PENDING, 3L, "Dr", "dr@example.com", "GP", 11L, "Pat", "pat@example.com");
+        AppointmentViewDTO approved = pending.withStatus(AppointmentStatus.APPROVED);
+        expect(approved.getStatus() == AppointmentStatus.APPROVED && pending.getStatus() == AppointmentStatus.PENDING
+                        && approved.getId().equals(42L) && approved.getDoctorId().equals(3L)
+                        && approved.getUserId().equals(11L)
+                        && approved.getAppointmentTime().equals(LocalTime.of(9, 30)),
+                "withStatus copies the appointment with only the status changed");
+    }
+
+    // ================= CHANGE SEQUENCE =================
+
+    // Built without its repositories and never seeded, so numbering starts at 1
+    private static void changeSequence() {
+        ChangeSequence sequence = new ChangeSequence(null, null);
+        expect(sequence.safeUpTo() == 0, "nothing is visible before the first change");
+
+        long first = sequence.next();
+        long second = sequence.next();
+        long third = sequence.next();
+        expect(first == 1 && second == 2 && third == 3, "sequences are handed out in order");
+        expect(sequence.safeUpTo() == 0, "nothing is visible while the first change is in flight");
+
+        // Later writers commit first: readers must not pass the one still open
+        sequence.done(third);
+        sequence.done(second);
+        expect(sequence.safeUpTo() == 0, "later changes stay hidden behind an earlier one in flight");
+        sequence.done(first);
+        expect(sequence.safeUpTo() == 3, "everything is visible once the earliest change settles");
+
+        long fourth = sequence.next();
+        long fifth = sequence.next();
+        sequence.done(fourth);
+        expect(sequence.safeUpTo() == 4, "the horizon stops just below the earliest change in flight");
+        sequence.done(fifth);
+        sequence.done(fifth);
+        expect(sequence.safeUpTo() == 5, "a repeated done() is harmless");
+
+        expect(sequence.purgedUpTo() == 0, "nothing is purged at first");
+        sequence.purging(3);
+        expect(sequence.purgedUpTo() == 3, "readers are held to a purge in progress");
+        sequence.purgeFailed();
+        expect(sequence.purgedUpTo() == 0, "a rolled-back purge leaves the horizon where it was");
+        sequence.purging(3);
+        sequence.purged(3);
+        sequence.purging(2);
+        sequence.purged(2);
+        expect(sequence.purgedUpTo() == 3, "the purge horizon only moves forward");
+    }
+
+    // ================= TOKEN BUCKET =================
+
+    // Driven by a made-up clock: one token a second, bursts of three
+    private static void tokenBucket() throws Exception {
+        long second = 1_000_000_000L;
+        long burst = 3 * second;
+        long t0 = 5 * second;
+        TokenBucket bucket = new TokenBucket(t0);
+
+        expect(bucket.tryAcquire(t0, second, burst) == 0 && bucket.tryAcquire(t0, second, burst) == 0
+                        && bucket.tryAcquire(t0, second, burst) == 0,
+                "a new bucket allows a full burst");
+        expect(bucket.tryAcquire(t0, second, burst) == second, "an empty bucket answers the wait for the next token");
+        expect(bucket.tryAcquire(t0 + second / 4, second, burst) == second * 3 / 4,
+                "the wait shrinks as time passes, and a refused request takes nothing");
+        expect(bucket.tryAcquire(t0 + second, second, burst) == 0 && bucket.tryAcquire(t0 + second, second, burst) > 0,
+                "one token, and only one, is back after one interval");
+
+        long later = t0 + 3600 * second;
+        int allowed = 0;
+        while (bucket.tryAcquire(later, second, burst) == 0) {
+            allowed++;
+        }
+        expect(allowed == 3, "an idle bucket refills to its capacity and no further (" + allowed + ")");
+
+        TokenBucket shared = new TokenBucket(t0);
+        expect(winners(16, () -> shared.tryAcquire(t0, second, burst) == 0) == 3,
+                "concurrent requests share one burst without over-admitting");
+    }
+
+    // ================= BOOKING INPUT =================
+
+    // Only the slot index is real: a request that got past validation would fail on a null repository
+    private static void bookingInput() {
+        SlotOccupancyIndex slots = new SlotOccupancyIndex(null);
+        AppointmentServiceImpl service = new AppointmentServiceImpl(null, null, null, null, null, null, slots,
+                null, null, null, null, null, null, null);
+        LocalDate day = LocalDate.of(2031, 1, 7);
+        LocalTime time = LocalTime.of(10, 0);
+
+        expect(rejected(() -> service.bookAppointment(11L, 3L, null, time)), "a booking with no date is a 400");
+        expect(rejected(() -> service.bookAppointment(11L, 3L, day, null)), "a booking with no time is a 400");
+        expect(rejected(() -> service.bookAppointment(11L, null, day, time)), "a booking with no doctor is a 400");
+        expect(rejected(() -> service.bookAppointment(null, 3L, day, time)), "a booking with no user is a 400");
+        expect(rejected(() -> service.enqueueBooking(11L, 3L, null, time)), "a queued booking with no date is a 400");
+        expect(!slots.isHeld(3L, day, time), "a refused booking holds no slot");
+    }
+
+    // Starts every attempt at once; returns how many succeeded
+    private static int winners(int threads, Callable<Boolean> attempt) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    return attempt.call();
+                }));
+            }
+            start.countDown();
+            int won = 0;
+            for (Future<Boolean> result : results) {
+                won += result.get() ? 1 : 0;
+            }
+            return won;
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static boolean rejected(Runnable decode) {
+        try {
+            decode.run();
+            return false;
+        } catch (BadRequestException ex) {
+            return true;
+        }
+    }
+
+    private static void expect(boolean condition, String description) {
+        if (!condition) {
+            throw new AssertionError("checks: expected " + description);
+        }
+        System.out.println("ok - " + description);
     }
 }
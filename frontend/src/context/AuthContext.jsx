@@ -1,5 +1,5 @@
 import React, { createContext, useContext, useState, useEffect } from 'react';
-import { userAPI } from '../services/api';
+import { appointmentAPI, userAPI } from '../services/api';
 
 const AuthContext = createContext(null);
 
@@ -34,6 +34,7 @@ export const AuthProvider = ({ children }) => {
       const userData = {
         userId: response.userId,
         role: response.role,
+        token: response.token,
         email,
       };
       setUser(userData);
@@ -78,6 +79,7 @@ export const AuthProvider = ({ children }) => {
   const logout = () => {
     setUser(null);
     localStorage.removeItem('user');
+    appointmentAPI.clearSyncCache();
   };
 
   const value = {
@@ -20,13 +20,10 @@ export const AdminDashboard = () => {
   useEffect(() => {
     const fetchData = async () => {
       try {
+        const appointmentStats = await appointmentAPI.getStats();
         const appointments = await appointmentAPI.getAll();
         const doctors = await doctorAPI.getAll();
 
-        const pending = appointments.filter((apt) => apt.status === 'PENDING').length;
-        const approved = appointments.filter((apt) => apt.status === 'APPROVED').length;
-        const rejected = appointments.filter((apt) => apt.status === 'REJECTED').length;
-
         // Get recent appointments (last 5)
         const recent = appointments
           .sort((a, b) => new Date(b.appointmentDate) - new Date(a.appointmentDate))
@@ -34,10 +31,10 @@ export const AdminDashboard = () => {
 
         setRecentAppointments(recent);
         setStats({
-          totalAppointments: appointments.length,
-          pendingAppointments: pending,
-          approvedAppointments: approved,
-          rejectedAppointments: rejected,
+          totalAppointments: appointmentStats.total,
+          pendingAppointments: appointmentStats.pending,
+          approvedAppointments: appointmentStats.approved,
+          rejectedAppointments: appointmentStats.rejected,
           totalDoctors: doctors.length,
           totalUsers: 0, // We'll calculate this if needed
         });
@@ -190,9 +187,9 @@ export const AdminDashboard = () => {
               <div key={appointment.id} className="recent-appointment-item">
                 <div className="recent-appointment-info">
                   <div className="recent-appointment-patient">
-                    <strong>{appointment.user?.name || 'Unknown'}</strong>
+                    <strong>{appointment.userName || 'Unknown'}</strong>
                     <span> → </span>
-                    <strong>{appointment.doctor?.name || 'Unknown'}</strong>
+                    <strong>{appointment.doctorName || 'Unknown'}</strong>
                   </div>
                   <div className="recent-appointment-date">
                     {formatDate(appointment.appointmentDate)} at {formatTime(appointment.appointmentTime)}
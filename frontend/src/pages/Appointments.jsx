@@ -4,6 +4,22 @@ import { appointmentAPI, doctorAPI } from '../services/api';
 import { useAuth } from '../context/AuthContext';
 import './Appointments.css';
 
+// Applies one pushed event to the current list
+const applyEvent = (appointments, event) => {
+  if (event.type === 'DELETED') {
+    return appointments.filter((appointment) => appointment.id !== event.id);
+  }
+  if (event.appointment) {
+    const exists = appointments.some((appointment) => appointment.id === event.id);
+    return exists
+      ? appointments.map((appointment) => (appointment.id === event.id ? event.appointment : appointment))
+      : [...appointments, event.appointment];
+  }
+  return appointments.map((appointment) =>
+    appointment.id === event.id ? { ...appointment, status: event.status } : appointment
+  );
+};
+
 export const Appointments = () => {
   const { user, isDoctor, isAdmin } = useAuth();
   const [doctorId, setDoctorId] = useState(null);
@@ -12,6 +28,7 @@ export const Appointments = () => {
   const [appointments, setAppointments] = useState([]);
   const [loading, setLoading] = useState(true);
   const [message, setMessage] = useState(location.state?.message || '');
+  const [error, setError] = useState('');
 
   useEffect(() => {
     const fetchAppointments = async () => {
@@ -23,17 +40,16 @@ export const Appointments = () => {
         } else if (isDoctor) {
           // Doctor sees only their appointments
           // First, find the doctor by email
-          const doctors = await doctorAPI.getAll();
-          const doctor = doctors.find((d) => d.email === user.email);
+          const doctor = await doctorAPI.getByEmail(user.email);
           if (doctor) {
             setDoctorId(doctor.id);
-            data = await appointmentAPI.getByDoctor(doctor.id);
+            data = await appointmentAPI.sync({ doctorId: doctor.id });
           } else {
             data = [];
           }
         } else {
           // Patient sees only their appointments
-          data = await appointmentAPI.getByUser(user.userId);
+          data = await appointmentAPI.sync({ userId: user.userId });
         }
         setAppointments(data);
       } catch (error) {
@@ -54,14 +70,47 @@ export const Appointments = () => {
     }
   }, [user, isDoctor, isAdmin, message]);
 
+  // Approvals, rejections and new bookings arrive over SSE instead of by reloading the page
+  useEffect(() => {
+    if (!user || isAdmin || (isDoctor && !doctorId)) {
+      return undefined;
+    }
+    const reload = () =>
+      appointmentAPI.sync(isDoctor ? { doctorId } : { userId: user.userId })
+        .then(setAppointments)
+        .catch((error) => console.error('Error refreshing appointments:', error));
+    const source = appointmentAPI.subscribe(
+      isDoctor ? { doctorId } : { userId: user.userId },
+      (event) => {
+        if (event.type === 'BOOKING_FAILED') {
+          // A queued booking was never written; resync so nothing keeps showing it as pending
+          setError('A booking could not be completed. Please choose the time slot again.');
+          reload();
+          return;
+        }
+        setAppointments((current) => applyEvent(current, event));
+      },
+      reload
+    );
+    return () => source.close();
+  }, [user, isDoctor, isAdmin, doctorId]);
+
+  useEffect(() => {
+    if (!error) {
+      return undefined;
+    }
+    const timer = setTimeout(() => setError(''), 5000);
+    return () => clearTimeout(timer);
+  }, [error]);
+
   const refreshAppointments = async () => {
     let data;
     if (isAdmin) {
       data = await appointmentAPI.getAll();
     } else if (isDoctor && doctorId) {
-      data = await appointmentAPI.getByDoctor(doctorId);
+      data = await appointmentAPI.sync({ doctorId });
     } else {
-      data = await appointmentAPI.getByUser(user.userId);
+      data = await appointmentAPI.sync({ userId: user.userId });
     }
     setAppointments(data);
   };
@@ -162,6 +211,8 @@ export const Appointments = () => {
         </div>
       )}
 
+      {error && <div className="alert alert-error">{error}</div>}
+
       {!isAdmin && !isDoctor && appointments.length === 0 && (
         <div className="empty-state">
           <p className="empty-state-text">You don't have any appointments yet.</p>
@@ -198,24 +249,24 @@ export const Appointments = () => {
                   <tr key={appointment.id}>
                       <td>
                       <div style={{ fontWeight: 500, color: '#111827' }}>
-                        {isAdmin || isDoctor ? appointment.user?.name : appointment.doctor?.name}
+                        {isAdmin || isDoctor ? appointment.userName : appointment.doctorName}
                       </div>
                       <div style={{ fontSize: '0.875rem', color: '#6b7280', marginTop: '0.25rem' }}>
-                        {isAdmin || isDoctor ? appointment.user?.email : appointment.doctor?.email}
+                        {isAdmin || isDoctor ? appointment.userEmail : appointment.doctorEmail}
                       </div>
                       {isAdmin && (
                         <>
                           <div style={{ fontSize: '0.875rem', color: '#6b7280', marginTop: '0.5rem', fontWeight: 500 }}>
-                            Doctor: {appointment.doctor?.name}
+                            Doctor: {appointment.doctorName}
                           </div>
                           <div style={{ fontSize: '0.875rem', color: '#6b7280', marginTop: '0.25rem' }}>
-                            {appointment.doctor?.specialization}
+                            {appointment.specialization}
                           </div>
                         </>
                       )}
-                      {isDoctor && appointment.doctor && (
+                      {isDoctor && appointment.specialization && (
                         <div style={{ fontSize: '0.875rem', color: '#6b7280', marginTop: '0.25rem' }}>
-                          {appointment.doctor.specialization}
+                          {appointment.specialization}
                         </div>
                       )}
                     </td>
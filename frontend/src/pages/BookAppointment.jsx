@@ -16,6 +16,7 @@ export const BookAppointment = () => {
     date: '',
     time: '',
   });
+  const [freeSlots, setFreeSlots] = useState([]);
 
   useEffect(() => {
     const fetchDoctor = async () => {
@@ -33,6 +34,25 @@ export const BookAppointment = () => {
     fetchDoctor();
   }, [doctorId]);
 
+  useEffect(() => {
+    if (!formData.date) {
+      setFreeSlots([]);
+      return;
+    }
+
+    const fetchAvailability = async () => {
+      try {
+        const days = await doctorAPI.getAvailability(doctorId, formData.date, formData.date);
+        setFreeSlots(days.length > 0 ? days[0].freeSlots.map((slot) => slot.slice(0, 5)) : []);
+      } catch (error) {
+        console.error('Error fetching availability:', error);
+        setFreeSlots([]);
+      }
+    };
+
+    fetchAvailability();
+  }, [doctorId, formData.date]);
+
   const handleChange = (e) => {
     setFormData({
       ...formData,
@@ -138,16 +158,27 @@ export const BookAppointment = () => {
             <label htmlFor="time" className="form-label">
               Select Time
             </label>
-            <input
-              type="time"
+            <select
               id="time"
               name="time"
               required
+              disabled={!formData.date}
               value={formData.time}
               onChange={handleChange}
               className="form-input"
-            />
-            <p className="form-hint">Please select a time between 9:00 AM and 5:00 PM</p>
+            >
+              <option value="">{formData.date ? 'Choose a free slot' : 'Select a date first'}</option>
+              {freeSlots.map((slot) => (
+                <option key={slot} value={slot}>
+                  {slot}
+                </option>
+              ))}
+            </select>
+            <p className="form-hint">
+              {formData.date && freeSlots.length === 0
+                ? 'No free slots on this date'
+                : 'Only free slots between 9:00 AM and 5:00 PM are shown'}
+            </p>
           </div>
 
           <div className="form-actions">
@@ -18,36 +18,31 @@ export const Dashboard = () => {
     const fetchStats = async () => {
       try {
         if (isAdmin) {
-          const appointments = await appointmentAPI.getAll();
-          const pending = appointments.filter((apt) => apt.status === 'PENDING').length;
-          const approved = appointments.filter((apt) => apt.status === 'APPROVED').length;
+          const appointmentStats = await appointmentAPI.getStats();
           setStats({
-            totalAppointments: appointments.length,
-            pendingAppointments: pending,
-            approvedAppointments: approved,
+            totalAppointments: appointmentStats.total,
+            pendingAppointments: appointmentStats.pending,
+            approvedAppointments: appointmentStats.approved,
             totalDoctors: 0,
           });
         } else if (isDoctor) {
-          const doctors = await doctorAPI.getAll();
-          const doctor = doctors.find((d) => d.email === user.email);
+          const doctor = await doctorAPI.getByEmail(user.email);
           if (doctor) {
-            const appointments = await appointmentAPI.getByDoctor(doctor.id);
-            const pending = appointments.filter((apt) => apt.status === 'PENDING').length;
-            const approved = appointments.filter((apt) => apt.status === 'APPROVED').length;
+            const appointmentStats = await appointmentAPI.getStatsByDoctor(doctor.id);
             setStats({
-              totalAppointments: appointments.length,
-              pendingAppointments: pending,
-              approvedAppointments: approved,
+              totalAppointments: appointmentStats.total,
+              pendingAppointments: appointmentStats.pending,
+              approvedAppointments: appointmentStats.approved,
               totalDoctors: 0,
             });
           }
         } else {
-          const appointments = await appointmentAPI.getByUser(user.userId);
+          const appointmentStats = await appointmentAPI.getStatsByUser(user.userId);
           const doctors = await doctorAPI.getAll();
           setStats({
-            totalAppointments: appointments.length,
-            pendingAppointments: appointments.filter((apt) => apt.status === 'PENDING').length,
-            approvedAppointments: appointments.filter((apt) => apt.status === 'APPROVED').length,
+            totalAppointments: appointmentStats.total,
+            pendingAppointments: appointmentStats.pending,
+            approvedAppointments: appointmentStats.approved,
             totalDoctors: doctors.length,
           });
         }
@@ -19,8 +19,7 @@ export const DoctorProfile = () => {
   useEffect(() => {
     const fetchDoctor = async () => {
       try {
-        const doctors = await doctorAPI.getAll();
-        const foundDoctor = doctors.find((d) => d.email === user.email);
+        const foundDoctor = await doctorAPI.getByEmail(user.email);
         if (foundDoctor) {
           setDoctor(foundDoctor);
           setFormData({
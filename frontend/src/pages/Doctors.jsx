@@ -3,35 +3,66 @@ import { Link } from 'react-router-dom';
 import { doctorAPI } from '../services/api';
 import './Doctors.css';
 
+const PAGE_SIZE = 24;
+const SEARCH_DELAY_MS = 250;
+
 export const Doctors = () => {
   const [doctors, setDoctors] = useState([]);
+  const [nextCursor, setNextCursor] = useState(null);
+  const [specializations, setSpecializations] = useState([]);
   const [loading, setLoading] = useState(true);
   const [searchTerm, setSearchTerm] = useState('');
   const [specializationFilter, setSpecializationFilter] = useState('');
 
   useEffect(() => {
-    const fetchDoctors = async () => {
+    doctorAPI.getSpecializations()
+      .then(setSpecializations)
+      .catch((error) => console.error('Error fetching specializations:', error));
+  }, []);
+
+  // Filtering happens on the server; typing is debounced and a stale response is dropped
+  useEffect(() => {
+    let cancelled = false;
+    const timer = setTimeout(async () => {
       try {
-        const data = await doctorAPI.getAll();
-        setDoctors(data);
+        const page = await doctorAPI.search({
+          specialization: specializationFilter || undefined,
+          q: searchTerm.trim() || undefined,
+          limit: PAGE_SIZE,
+        });
+        if (!cancelled) {
+          setDoctors(page.items);
+          setNextCursor(page.next);
+        }
       } catch (error) {
         console.error('Error fetching doctors:', error);
       } finally {
-        setLoading(false);
+        if (!cancelled) {
+          setLoading(false);
+        }
       }
-    };
+    }, searchTerm ? SEARCH_DELAY_MS : 0);
 
-    fetchDoctors();
-  }, []);
-
-  const specializations = [...new Set(doctors.map((doc) => doc.specialization))];
+    return () => {
+      cancelled = true;
+      clearTimeout(timer);
+    };
+  }, [searchTerm, specializationFilter]);
 
-  const filteredDoctors = doctors.filter((doctor) => {
-    const matchesSearch = doctor.name.toLowerCase().includes(searchTerm.toLowerCase()) ||
-      doctor.specialization.toLowerCase().includes(searchTerm.toLowerCase());
-    const matchesSpecialization = !specializationFilter || doctor.specialization === specializationFilter;
-    return matchesSearch && matchesSpecialization;
-  });
+  const loadMore = async () => {
+    try {
+      const page = await doctorAPI.search({
+        specialization: specializationFilter || undefined,
+        q: searchTerm.trim() || undefined,
+        cursor: nextCursor,
+        limit: PAGE_SIZE,
+      });
+      setDoctors((current) => [...current, ...page.items]);
+      setNextCursor(page.next);
+    } catch (error) {
+      console.error('Error fetching doctors:', error);
+    }
+  };
 
   if (loading) {
     return (
@@ -74,13 +105,13 @@ export const Doctors = () => {
         </div>
       </div>
 
-      {filteredDoctors.length === 0 ? (
+      {doctors.length === 0 ? (
         <div className="empty-state">
           <p className="empty-state-text">No doctors found matching your criteria.</p>
         </div>
       ) : (
         <div className="doctors-grid">
-          {filteredDoctors.map((doctor) => (
+          {doctors.map((doctor) => (
             <div key={doctor.id} className="doctor-card">
               <div className="doctor-header">
                 <div className="doctor-avatar">👨‍⚕️</div>
@@ -111,6 +142,14 @@ export const Doctors = () => {
           ))}
         </div>
       )}
+
+      {nextCursor && (
+        <div style={{ textAlign: 'center', marginTop: '1.5rem' }}>
+          <button onClick={loadMore} className="btn btn-secondary">
+            Load more
+          </button>
+        </div>
+      )}
     </div>
   );
 };
\ No newline at end of file
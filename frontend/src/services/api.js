@@ -9,6 +9,32 @@ const api = axios.create({
   },
 });
 
+// Attach the JWT from the stored session, if any
+api.interceptors.request.use((config) => {
+  try {
+    const token = JSON.parse(localStorage.getItem('user'))?.token;
+    if (token) {
+      config.headers.Authorization = `Bearer ${token}`;
+    }
+  } catch (error) {
+    // Malformed session data: send the request without a token
+  }
+  return config;
+});
+
+// An expired or invalid token means the session is over (a failed login is also a 401, but sends no token)
+api.interceptors.response.use(
+  (response) => response,
+  (error) => {
+    if (error.response?.status === 401 && error.config?.headers?.Authorization) {
+      localStorage.removeItem('user');
+      appointmentAPI.clearSyncCache();
+      window.location.href = '/login';
+    }
+    return Promise.reject(error);
+  }
+);
+
 // User API
 export const userAPI = {
   register: async (userData) => {
@@ -48,6 +74,31 @@ export const doctorAPI = {
     const response = await api.get(`/doctor/${id}`);
     return response.data;
   },
+  // Resolves to { items, next }; pass next back as cursor for the following page
+  search: async ({ specialization, q, cursor, limit }) => {
+    const response = await api.get('/doctor/search', { params: { specialization, q, cursor, limit } });
+    return response.data;
+  },
+  getSpecializations: async () => {
+    const response = await api.get('/doctor/specializations');
+    return response.data;
+  },
+  // Resolves to null when no doctor profile exists for the email
+  getByEmail: async (email) => {
+    try {
+      const response = await api.get('/doctor/by-email', { params: { email } });
+      return response.data;
+    } catch (error) {
+      if (error.response?.status === 404) {
+        return null;
+      }
+      throw error;
+    }
+  },
+  getAvailability: async (id, from, to) => {
+    const response = await api.get(`/doctor/${id}/availability`, { params: { from, to } });
+    return response.data;
+  },
   create: async (doctorData) => {
     const response = await api.post('/doctor', doctorData);
     return response.data;
@@ -62,6 +113,13 @@ export const doctorAPI = {
   },
 };
 
+const SYNC_PREFIX = 'appointments:';
+
+const bySlot = (a, b) =>
+  a.appointmentDate.localeCompare(b.appointmentDate) ||
+  a.appointmentTime.localeCompare(b.appointmentTime) ||
+  a.id - b.id;
+
 // Appointment API
 export const appointmentAPI = {
   book: async (appointmentData) => {
@@ -80,6 +138,47 @@ export const appointmentAPI = {
     const response = await api.get(`/appointment/doctor/${doctorId}`);
     return response.data;
   },
+  // Delta sync for { userId } or { doctorId }: the list and its change cursor are kept in
+  // localStorage, so a revisit only downloads what changed since the last one
+  sync: async (params) => {
+    const key = SYNC_PREFIX + new URLSearchParams(params);
+    let cached = null;
+    try {
+      cached = JSON.parse(localStorage.getItem(key));
+    } catch (error) {
+      // Corrupt cache: start over with a full sync
+    }
+    const byId = new Map((cached?.items ?? []).map((appointment) => [appointment.id, appointment]));
+    let since = cached?.cursor;
+    let hasMore = true;
+    while (hasMore) {
+      const response = await api.get('/appointment/changes', { params: { ...params, since, limit: 500 } });
+      response.data.upserted.forEach((appointment) => byId.set(appointment.id, appointment));
+      response.data.deleted.forEach((id) => byId.delete(id));
+      since = response.data.cursor;
+      hasMore = response.data.hasMore;
+    }
+    const items = [...byId.values()].sort(bySlot);
+    localStorage.setItem(key, JSON.stringify({ items, cursor: since }));
+    return items;
+  },
+  clearSyncCache: () => {
+    Object.keys(localStorage)
+      .filter((key) => key.startsWith(SYNC_PREFIX))
+      .forEach((key) => localStorage.removeItem(key));
+  },
+  getStats: async () => {
+    const response = await api.get('/appointment/stats');
+    return response.data;
+  },
+  getStatsByDoctor: async (doctorId) => {
+    const response = await api.get(`/appointment/stats/doctor/${doctorId}`);
+    return response.data;
+  },
+  getStatsByUser: async (userId) => {
+    const response = await api.get(`/appointment/stats/user/${userId}`);
+    return response.data;
+  },
   approve: async (id) => {
     const response = await api.put(`/appointment/approve/${id}`);
     return response.data;
@@ -91,6 +190,40 @@ export const appointmentAPI = {
   delete: async (id) => {
     await api.delete(`/appointment/${id}`);
   },
+  // Live BOOKED / BOOKING_FAILED / STATUS_CHANGED / DELETED events for { userId } or { doctorId }.
+  // BOOKING_FAILED is a queued booking that was never written: it carries the ticket, no appointment.
+  // EventSource reconnects by itself; onReconnect runs after a dropped stream
+  // comes back, since events sent in between are lost. Close the returned source when done
+  subscribe: (params, onEvent, onReconnect) => {
+    const source = new EventSource(`${API_BASE_URL}/appointment/stream?${new URLSearchParams(params)}`);
+    ['BOOKED', 'BOOKING_FAILED', 'STATUS_CHANGED', 'DELETED'].forEach((type) =>
+      source.addEventListener(type, (event) => onEvent(JSON.parse(event.data)))
+    );
+    let dropped = false;
+    source.onerror = () => {
+      dropped = true;
+    };
+    source.onopen = () => {
+      if (dropped) {
+        dropped = false;
+        onReconnect?.();
+      }
+    };
+    return source;
+  },
+  // Bulk calls take { ids: [...] } or { doctorId, date } and resolve to per-id outcomes
+  approveBulk: async (selection) => {
+    const response = await api.put('/appointment/bulk/approve', selection);
+    return response.data;
+  },
+  rejectBulk: async (selection) => {
+    const response = await api.put('/appointment/bulk/reject', selection);
+    return response.data;
+  },
+  deleteBulk: async (selection) => {
+    const response = await api.post('/appointment/bulk/delete', selection);
+    return response.data;
+  },
 };
 
 export default api;
\ No newline at end of file